@@ -0,0 +1,111 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Searches with the engine best suited to each pattern, so that callers do not need to know which one that is.
+ *
+ * The choice only depends on properties of the compiled pattern that are computed once, when it is compiled: its
+ * length m, its period k from the failure table, the number of distinct characters it uses and whether they are all
+ * Latin-1. In order:
+ * 1. A single character is found with a plain scan.
+ * 2. A periodic pattern, one that repeats at least twice (2k &lt;= m), is searched with BoyerMooreComplete, whose good
+ * suffix shifts and Galil rule keep the search linear however often it matches.
+ * 3. A pattern over a small alphabet such as DNA gets tiny bad character shifts. Short ones are searched
+ * bit-parallel: ShiftOr up to 16 characters and BNDM up to 64, and longer ones with BackwardOracleMatching.
+ * 4. A pattern over a medium alphabet is searched with BNDM up to 64 characters and IntroSearch above, whose bad
+ * character loop falls back to KMP if a text drives it quadratic.
+ * 5. A pattern over a large alphabet, such as a keyword in natural language, is searched with BoyerMooreHorspool, or
+ * with QuickSearch when it is not Latin-1: its last occurrence table is then hashed, so the engine with the longest
+ * shift per lookup wins.
+ *
+ * The engine picked for a pattern is exposed by select, so that it can be recorded alongside timings.
+ */
+public class AdaptiveSearch {
+
+    // patterns using at most this many distinct characters are over a small alphabet.
+    static final int SMALL_ALPHABET = 4;
+
+    // patterns using fewer than this many distinct characters are over a medium alphabet.
+    static final int LARGE_ALPHABET = 16;
+
+    // the longest pattern searched with ShiftOr rather than BNDM on a small alphabet.
+    static final int SHIFT_OR_MAX_LENGTH = 16;
+
+    /**
+     * Picks the engine used for a compiled pattern.
+     *
+     * @param compiled    the compiled pattern a user is searching for.
+     * @return    the engine that search uses for this pattern.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern is null.
+     */
+    public static SearchEngine select(CompiledPattern compiled) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        int m = compiled.length();
+        int distinct = compiled.distinctCharacters();
+        boolean bitParallel = m <= PrimitiveMaskTable.MAX_LENGTH;
+
+        if (m == 1) {
+            return SearchEngine.SINGLE_CHARACTER;
+        }
+        if (2 * compiled.period() <= m) {
+            return SearchEngine.BOYER_MOORE_COMPLETE;
+        }
+        if (distinct <= SMALL_ALPHABET) {
+            if (m <= SHIFT_OR_MAX_LENGTH) {
+                return SearchEngine.SHIFT_OR;
+            }
+            return bitParallel ? SearchEngine.BACKWARD_NONDETERMINISTIC_DAWG_MATCHING
+                    : SearchEngine.BACKWARD_ORACLE_MATCHING;
+        }
+        if (distinct < LARGE_ALPHABET) {
+            return bitParallel ? SearchEngine.BACKWARD_NONDETERMINISTIC_DAWG_MATCHING
+                    : SearchEngine.INTRO_SEARCH;
+        }
+        return compiled.isLatin1() ? SearchEngine.HORSPOOL : SearchEngine.QUICK_SEARCH;
+    }
+
+    /**
+     * Searches the text for a pattern with the engine picked for it.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the pattern or text is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static List<Integer> search(CharSequence pattern, CharSequence text) {
+        return search(CompiledPattern.compile(pattern), text);
+    }
+
+    /**
+     * Searches the text for a compiled pattern with the engine picked for it.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static List<Integer> search(CompiledPattern compiled, CharSequence text) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        search(compiled, text, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a compiled pattern with the engine picked for it, reporting the starting index of each
+     * match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     */
+    public static void search(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        select(compiled).search(compiled, text, sink);
+    }
+}
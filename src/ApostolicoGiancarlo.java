@@ -0,0 +1,205 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * An implementation of the Apostolico-Giancarlo variant of the Boyer Moore algorithm, built on the good suffix shift
+ * array and suffix table of GoodSuffixPreprocessing.
+ *
+ * Galil's rule only helps after a full match. Apostolico-Giancarlo remembers, for the text position under the end of
+ * every attempt, the length of the suffix of the pattern that matched there. When a later attempt reaches one of
+ * those positions, the remembered length k is compared with suff[j], the length of the longest suffix of the pattern
+ * ending at j, instead of comparing characters:
+ * 1. k &lt; suff[j]: the text and the pattern differ at j - k, so the attempt is a mismatch at j - k.
+ * 2. k &gt; suff[j]: likewise the attempt is a mismatch at j - suff[j], or a match if suff[j] = j + 1.
+ * 3. k = suff[j]: the k characters are known to match, so the scan jumps over them and carries on at j - k.
+ * A text character is matched at most once, since a later attempt skips it, and every attempt ends with at most one
+ * mismatch; Apostolico and Giancarlo use this to bound the comparisons by 2n. Crochemore and Lecroq later tightened
+ * the bound to 1.5n ("Tight bounds on the complexity of the Apostolico-Giancarlo algorithm", 1997).
+ *
+ * Only the positions under the current window, [s, s + m), can ever be read again, so the remembered lengths are
+ * kept in a circular buffer of m entries (rounded up to a power of two) indexed by text position, rather than in an
+ * array as long as the text. The entries of positions that enter the window are cleared as the window moves.
+ *
+ * The results are identical to those of BoyerMooreBCGalil.
+ */
+public class ApostolicoGiancarlo {
+
+    /**
+     * Searches the text for a pattern, counting comparisons with the comparator.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the pattern, text, or comparator is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static List<Integer> apostolicoGiancarlo(CharSequence pattern, CharSequence text,
+                                                    CharacterComparator comparator) {
+        return apostolicoGiancarlo(CompiledPattern.compile(pattern), text, comparator);
+    }
+
+    /**
+     * Searches the text for a compiled pattern, counting comparisons with the comparator.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or comparator is null.
+     */
+    public static List<Integer> apostolicoGiancarlo(CompiledPattern compiled, CharSequence text,
+                                            CharacterComparator comparator) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        apostolicoGiancarlo(compiled, text, comparator, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a compiled pattern, counting comparisons with the comparator and reporting the starting
+     * index of each match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, comparator, or sink is null.
+     */
+    public static void apostolicoGiancarlo(CompiledPattern compiled, CharSequence text, CharacterComparator comparator,
+                                   IntConsumer sink) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Your comparator cannot be null. Please try again with a "
+                    + " non-null comparator parameter.");
+        }
+        checkArguments(compiled, text, sink);
+        apostolicoGiancarlo(compiled, text, CharMatcher.counting(comparator), sink);
+    }
+
+    /**
+     * Searches the text for a compiled pattern without counting comparisons.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static List<Integer> apostolicoGiancarlo(CompiledPattern compiled, CharSequence text) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        apostolicoGiancarlo(compiled, text, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a compiled pattern without counting comparisons, reporting the starting index of each
+     * match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     */
+    public static void apostolicoGiancarlo(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        checkArguments(compiled, text, sink);
+        apostolicoGiancarlo(compiled, text, CharMatcher.EXACT, sink);
+    }
+
+    /**
+     * Checks the arguments shared by every public overload.
+     *
+     * @param compiled    the compiled pattern.
+     * @param text    the text.
+     * @param sink    the sink receiving matches.
+     * @throws java.lang.IllegalArgumentException   if any argument is null.
+     */
+    private static void checkArguments(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+    }
+
+    /**
+     * The scan loop shared by every overload above. The arguments must already have been checked.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     */
+    static void apostolicoGiancarlo(CompiledPattern compiled, CharSequence text, CharMatcher matcher,
+                                    IntConsumer sink) {
+        char[] pattern = compiled.chars();
+        int n = text.length();
+        int m = compiled.length();
+        PrimitiveLastTable lot = compiled.lastOccurrenceTable();
+        int[] shift = compiled.goodSuffixShifts();
+        int[] suff = compiled.suffixes();
+
+        // skip[p & mask] is the length of the suffix of the pattern that matched ending at text position p, or 0.
+        int size = Integer.highestOneBit(m);
+        if (size < m) {
+            size <<= 1;
+        }
+        int[] skip = new int[size];
+        int mask = size - 1;
+
+        // s is the shift of the pattern with respect to the text.
+        int s = 0;
+
+        // cleared is the last text position whose skip entry has been cleared for the current window.
+        int cleared = m - 1;
+        while (s <= n - m) {
+            int end = s + m - 1;
+            if (end > cleared) {
+                // the entries left over from positions that have slid out of the window now belong to new positions.
+                for (int p = Math.max(cleared + 1, end - size + 1); p <= end; p++) {
+                    skip[p & mask] = 0;
+                }
+                cleared = end;
+            }
+
+            int j = m - 1;
+            while (j >= 0) {
+                int k = skip[(s + j) & mask];
+                if (k > 0) {
+                    int sj = suff[j];
+                    if (k > sj) {
+                        // case 2: a match if the whole prefix p[0, j] is a suffix, otherwise a mismatch at j - sj.
+                        j = sj == j + 1 ? -1 : j - sj;
+                        break;
+                    }
+                    j -= k;
+                    if (k < sj) {
+                        // case 1: a mismatch at j - k.
+                        break;
+                    }
+                    // case 3: the k characters match, carry on comparing.
+                } else if (matcher.eq(pattern[j], text.charAt(s + j))) {
+                    j--;
+                } else {
+                    break;
+                }
+            }
+
+            if (j < 0) {
+                sink.accept(s);
+                skip[end & mask] = m;
+                s += shift[0];
+            } else {
+                skip[end & mask] = m - 1 - j;
+                s += Math.max(shift[j + 1], j - lot.get(text.charAt(s + j)));
+            }
+        }
+    }
+}
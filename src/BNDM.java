@@ -0,0 +1,117 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * An implementation of the Backward Nondeterministic DAWG Matching algorithm of Navarro and Raffinot for patterns of
+ * up to 64 characters.
+ *
+ * Like Boyer Moore, BNDM reads each window of m text characters from right to left, but instead of comparing against
+ * the pattern it simulates, with one bit per state held in a single long, the automaton of all factors of the
+ * pattern. After reading the characters t[s + j, s + m - 1] bit i of the state d is set when they equal
+ * p[i, i + m - 1 - j]. When d becomes 0 the characters read are no factor of the pattern and the window can be moved
+ * past them. Whenever bit 0 is set, the characters read are a prefix of the pattern, and the last such prefix
+ * before the window is exhausted gives the shift. A prefix of length m is a match.
+ *
+ * The shift of up to m characters per window is what lets BNDM skip over the text where ShiftOr has to read every
+ * character. The masks are built by CompiledPattern from a single scan over the pattern (see PrimitiveMaskTable).
+ * Patterns longer than 64 characters do not fit in a long and are searched with BoyerMooreBCGalil instead.
+ *
+ * The results are identical to those of BoyerMooreBCGalil.
+ */
+public class BNDM {
+
+    /**
+     * Searches the text for a pattern.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the pattern or text is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static List<Integer> bndm(CharSequence pattern, CharSequence text) {
+        return bndm(CompiledPattern.compile(pattern), text);
+    }
+
+    /**
+     * Searches the text for a compiled pattern.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static List<Integer> bndm(CompiledPattern compiled, CharSequence text) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        bndm(compiled, text, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a compiled pattern, reporting the starting index of each match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     */
+    public static void bndm(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+        bndm(compiled, text, CharMatcher.EXACT, sink);
+    }
+
+    /**
+     * The scan loop shared by every overload above. The arguments must already have been checked.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param matcher    used to compare characters when the pattern is too long for the bit-parallel loop.
+     * @param sink    receives the starting index of each match, in ascending order.
+     */
+    static void bndm(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+        PrimitiveMaskTable masks = compiled.masks();
+        if (masks == null) {
+            BoyerMooreBCGalil.boyerMooreBCGalil(compiled, text, matcher, sink);
+            return;
+        }
+        int n = text.length();
+        int m = compiled.length();
+        long all = m == Long.SIZE ? ~0L : (1L << m) - 1;
+
+        // s is the shift of the pattern with respect to the text.
+        int s = 0;
+        while (s <= n - m) {
+            int j = m - 1;
+            // last is the shift to the last prefix of the pattern found in the window, m if there is none.
+            int last = m;
+            long d = all;
+            while (d != 0) {
+                d &= masks.get(text.charAt(s + j));
+                if ((d & 1L) != 0) {
+                    if (j > 0) {
+                        last = j;
+                    } else {
+                        sink.accept(s);
+                        break;
+                    }
+                }
+                j--;
+                d >>>= 1;
+            }
+            s += last;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * An implementation of the Backward Oracle Matching algorithm of Allauzen, Crochemore and Raffinot.
+ *
+ * Like BNDM, BOM reads each window of m text characters from right to left and moves the window past the first suffix
+ * of it that is not a factor of the pattern. Instead of a bit-parallel automaton it walks the factor oracle of
+ * the reversed pattern (see FactorOracle), which recognizes every factor of the pattern and few other words, so it
+ * has no limit on the length of the pattern. On a small alphabet such as DNA, where the bad character shift of
+ * BoyerMooreBCGalil rarely exceeds a few characters, a window of a long pattern is usually abandoned after reading
+ * about log(m) characters and the shift is close to m.
+ *
+ * Walking the whole window without leaving the oracle can only happen when the window is the pattern itself, which
+ * is then a match, and the window is shifted by the period of the pattern. The first transition of every window,
+ * from the initial state, is looked up in the last occurrence table instead of the oracle: it leads to the state
+ * m - lot[c].
+ *
+ * The results are identical to those of BoyerMooreBCGalil.
+ */
+public class BackwardOracleMatching {
+
+    /**
+     * Searches the text for a pattern.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the pattern or text is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static List<Integer> backwardOracleMatching(CharSequence pattern, CharSequence text) {
+        return backwardOracleMatching(CompiledPattern.compile(pattern), text);
+    }
+
+    /**
+     * Searches the text for a compiled pattern.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static List<Integer> backwardOracleMatching(CompiledPattern compiled, CharSequence text) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        backwardOracleMatching(compiled, text, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a compiled pattern, reporting the starting index of each match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     */
+    public static void backwardOracleMatching(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+        backwardOracleMatching(compiled, text, CharMatcher.EXACT, sink);
+    }
+
+    /**
+     * The scan loop shared by every overload above. The arguments must already have been checked.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param matcher    unused, since the oracle makes no character comparisons that can be counted.
+     * @param sink    receives the starting index of each match, in ascending order.
+     */
+    static void backwardOracleMatching(CompiledPattern compiled, CharSequence text, CharMatcher matcher,
+                                       IntConsumer sink) {
+        int n = text.length();
+        int m = compiled.length();
+        PrimitiveLastTable lot = compiled.lastOccurrenceTable();
+        FactorOracle oracle = compiled.factorOracle();
+        int k = compiled.period();
+
+        // s is the shift of the pattern with respect to the text.
+        int s = 0;
+        while (s <= n - m) {
+            // the transition from the initial state on c leads past the first occurrence of c in the reversed pattern.
+            int last = lot.get(text.charAt(s + m - 1));
+            int q = last < 0 ? -1 : m - last;
+            int j = m - 2;
+            while (q >= 0 && j >= 0) {
+                q = oracle.transition(q, text.charAt(s + j));
+                j--;
+            }
+            if (q >= 0) {
+                sink.accept(s);
+                s += k;
+            } else {
+                // t[s + j + 1] ended the walk, so t[s + j + 1, s + m - 1] is not a factor of the pattern.
+                s += j + 2;
+            }
+        }
+    }
+}
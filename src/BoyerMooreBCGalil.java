@@ -1,6 +1,12 @@
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 /**
  * An implementation of the Boyer Moore pattern matching algorithm which uses the Bad Character Heuristic
@@ -27,6 +33,59 @@ public class BoyerMooreBCGalil {
             throw new IllegalArgumentException("Your pattern cannot be of length 0. Please call this method with"
                     + " a non-zero length pattern");
         }
+        return boyerMooreBCGalil(CompiledPattern.compile(pattern), text, comparator);
+    }
+
+    /**
+     * Searches the text for a pattern that has already been preprocessed, so that repeated searches for the same
+     * pattern only pay for the scan loop below.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or comparator is null.
+     */
+    public static List<Integer> boyerMooreBCGalil(CompiledPattern compiled, CharSequence text,
+                                                CharacterComparator comparator) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        boyerMooreBCGalil(compiled, text, comparator, matches::add);
+        return matches;
+    }
+
+    /**
+     * Reports the starting index of each match to a sink instead of collecting them in a list, so that no Integer
+     * is boxed per match. Pass a MatchBuffer to collect the matches in a reusable int array.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the pattern, text, comparator, or sink is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static void boyerMooreBCGalil(CharSequence pattern, CharSequence text, CharacterComparator comparator,
+                                         IntConsumer sink) {
+        boyerMooreBCGalil(CompiledPattern.compile(pattern), text, comparator, sink);
+    }
+
+    /**
+     * Searches the text for a compiled pattern and reports the starting index of each match to a sink. Once a
+     * MatchBuffer has grown to hold the matches, repeated searches allocate nothing per match.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, comparator, or sink is null.
+     */
+    public static void boyerMooreBCGalil(CompiledPattern compiled, CharSequence text, CharacterComparator comparator,
+                                         IntConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
         if (text == null) {
             throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
                     + " non-null text parameter.");
@@ -35,50 +94,506 @@ public class BoyerMooreBCGalil {
             throw new IllegalArgumentException("Your comparator cannot be null. Please try again with a "
                     + " non-null comparator parameter.");
         }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+        boyerMooreBCGalil(compiled, text, CharMatcher.counting(comparator), sink);
+    }
 
+    /**
+     * Searches the text for a compiled pattern without counting comparisons. Characters are compared with a plain
+     * ==, so this is the overload to use outside of tests.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static List<Integer> boyerMooreBCGalil(CompiledPattern compiled, CharSequence text) {
         // matches will store the starting indices of each match found
         List<Integer> matches = new ArrayList<>();
+        boyerMooreBCGalil(compiled, text, matches::add);
+        return matches;
+    }
 
-        int n = text.length();
-        int m = pattern.length();
+    /**
+     * Searches the text for a pattern without counting comparisons.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the pattern or text is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static List<Integer> boyerMooreBCGalil(CharSequence pattern, CharSequence text) {
+        return boyerMooreBCGalil(CompiledPattern.compile(pattern), text);
+    }
 
-        if (m > n) {
-            return matches;
+    /**
+     * Searches the text for a compiled pattern without counting comparisons, reporting the starting index of each
+     * match to a sink. Neither the comparisons nor the matches box or allocate.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     */
+    public static void boyerMooreBCGalil(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
         }
+        boyerMooreBCGalil(compiled, text, CharMatcher.EXACT, sink);
+    }
+
+    /**
+     * Counts the occurrences of a pattern in the text without counting comparisons.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return    the number of matches, overlapping ones included.
+     * @throws java.lang.IllegalArgumentException   if the pattern or text is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static int count(CharSequence pattern, CharSequence text) {
+        return count(CompiledPattern.compile(pattern), text);
+    }
+
+    /**
+     * Counts the occurrences of a compiled pattern in the text without counting comparisons. No list is built and
+     * nothing is allocated per match. Galil's rule still applies, so a periodic pattern that matches many times is
+     * counted in linear time.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return    the number of matches, overlapping ones included.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static int count(CompiledPattern compiled, CharSequence text) {
+        checkArguments(compiled, text);
+        return boyerMooreBCGalil(compiled, text, 0, text.length(), new ScanState(), CharMatcher.EXACT,
+                Integer.MAX_VALUE, offset -> { });
+    }
+
+    /**
+     * Checks whether a pattern occurs in the text without counting comparisons.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return    true if the pattern occurs at least once in the text.
+     * @throws java.lang.IllegalArgumentException   if the pattern or text is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static boolean contains(CharSequence pattern, CharSequence text) {
+        return contains(CompiledPattern.compile(pattern), text);
+    }
+
+    /**
+     * Checks whether a compiled pattern occurs in the text without counting comparisons. The scan stops at the first
+     * match, so the rest of the text is never read.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return    true if the pattern occurs at least once in the text.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static boolean contains(CompiledPattern compiled, CharSequence text) {
+        checkArguments(compiled, text);
+        return boyerMooreBCGalil(compiled, text, 0, text.length(), new ScanState(), CharMatcher.EXACT, 1,
+                offset -> { }) > 0;
+    }
+
+    /**
+     * Finds the first occurrence of a pattern in the text without counting comparisons.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return    the starting index of the first match, or -1 if the pattern does not occur in the text.
+     * @throws java.lang.IllegalArgumentException   if the pattern or text is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static int findFirst(CharSequence pattern, CharSequence text) {
+        return findFirst(CompiledPattern.compile(pattern), text);
+    }
+
+    /**
+     * Finds the first occurrence of a compiled pattern in the text without counting comparisons. The scan stops at
+     * the first match.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return    the starting index of the first match, or -1 if the pattern does not occur in the text.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static int findFirst(CompiledPattern compiled, CharSequence text) {
+        checkArguments(compiled, text);
+        int[] first = {-1};
+        boyerMooreBCGalil(compiled, text, 0, text.length(), new ScanState(), CharMatcher.EXACT, 1,
+                offset -> first[0] = offset);
+        return first[0];
+    }
+
+    /**
+     * Finds the first limit occurrences of a compiled pattern in the text without counting comparisons. The scan
+     * stops as soon as the limit is reached, and the returned page holds the continuation from which the next page
+     * can be fetched.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param limit    the largest number of matches to return.
+     * @return    a page with at most limit matches.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     * @throws java.lang.IllegalArgumentException   if the limit is not positive.
+     */
+    public static SearchPage findAll(CompiledPattern compiled, CharSequence text, int limit) {
+        return findAll(compiled, text, Continuation.START, limit);
+    }
+
+    /**
+     * Finds the next limit occurrences of a compiled pattern in the text, resuming a previous search where it
+     * stopped. The text must be the one the continuation was taken from.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param continuation    where to resume, Continuation.START or the continuation of the previous page.
+     * @param limit    the largest number of matches to return.
+     * @return    a page with at most limit matches, all of them after the matches of the previous pages.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or continuation is null.
+     * @throws java.lang.IllegalArgumentException   if the limit is not positive.
+     */
+    public static SearchPage findAll(CompiledPattern compiled, CharSequence text, Continuation continuation,
+                                     int limit) {
+        checkArguments(compiled, text);
+        if (continuation == null) {
+            throw new IllegalArgumentException("Your continuation cannot be null. Please pass in"
+                    + " Continuation.START to start a new search.");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Your limit must be positive. Please pass in a limit of at least"
+                    + " one match.");
+        }
+        ScanState state = continuation.toState();
+        List<Integer> matches = new ArrayList<>();
+        boyerMooreBCGalil(compiled, text, 0, text.length(), state, CharMatcher.EXACT, limit, matches::add);
+        return new SearchPage(matches, state, text.length() - compiled.length());
+    }
+
+    /**
+     * Returns a lazy iterator over the matches of a compiled pattern in the text. The scan only advances when the
+     * next match is requested, so a caller that stops early never scans the rest of the text.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack). It must not be modified
+     *                while the iterator is in use.
+     * @return    an iterator over the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static PrimitiveIterator.OfInt iterator(CompiledPattern compiled, CharSequence text) {
+        return Spliterators.iterator(spliterator(compiled, text));
+    }
+
+    /**
+     * Returns a lazy stream of the matches of a compiled pattern in the text. Short-circuiting operations such as
+     * limit or findFirst stop the scan, and a parallel stream splits the text between threads.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack). It must not be modified
+     *                while the stream is in use.
+     * @return    a sequential stream of the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static IntStream stream(CompiledPattern compiled, CharSequence text) {
+        return StreamSupport.intStream(spliterator(compiled, text), false);
+    }
+
+    /**
+     * Returns a lazy spliterator over the matches of a compiled pattern in the text. See MatchSpliterator for how
+     * it advances and splits.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack). It must not be modified
+     *                while the spliterator is in use.
+     * @return    a spliterator over the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static Spliterator.OfInt spliterator(CompiledPattern compiled, CharSequence text) {
+        checkArguments(compiled, text);
+        return new MatchSpliterator(compiled, text);
+    }
+
+    /**
+     * Searches the region [from, to) of a text for a compiled pattern without counting comparisons or copying the
+     * region. Only matches lying entirely within the region are found, and they are reported as indices of the
+     * whole text.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param from    the index of the first character of the region.
+     * @param to    the index one past the last character of the region.
+     * @return     a list containing the starting index in the text for each match found in the region.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     * @throws java.lang.IndexOutOfBoundsException   if the region [from, to) is not within the text.
+     */
+    public static List<Integer> boyerMooreBCGalil(CompiledPattern compiled, CharSequence text, int from, int to) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        boyerMooreBCGalil(compiled, text, from, to, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the region [from, to) of a text for a compiled pattern without counting comparisons or copying the
+     * region, reporting the index in the whole text of each match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param from    the index of the first character of the region.
+     * @param to    the index one past the last character of the region.
+     * @param sink    receives the starting index in the text of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     * @throws java.lang.IndexOutOfBoundsException   if the region [from, to) is not within the text.
+     */
+    public static void boyerMooreBCGalil(CompiledPattern compiled, CharSequence text, int from, int to,
+                                         IntConsumer sink) {
+        checkArguments(compiled, text, sink);
+        Ranges.check(from, to, text.length());
+        searchRegion(compiled, text, from, to, sink);
+    }
+
+    /**
+     * Searches several regions of a text for a compiled pattern, one after the other, with the same preprocessed
+     * tables. Each region is searched as by the from/to overload above, so a match is reported once for every
+     * region containing it.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param ranges    the regions to search, as consecutive from and to pairs: region i is
+     *                  [ranges[2i], ranges[2i + 1]).
+     * @param sink    receives the starting index in the text of each match, region by region.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, ranges, or sink is null.
+     * @throws java.lang.IllegalArgumentException   if the ranges have an odd length.
+     * @throws java.lang.IndexOutOfBoundsException   if any region is not within the text. No region is searched then.
+     */
+    public static void boyerMooreBCGalil(CompiledPattern compiled, CharSequence text, int[] ranges, IntConsumer sink) {
+        checkArguments(compiled, text, sink);
+        Ranges.checkAll(ranges, text.length());
+        for (int i = 0; i < ranges.length; i += 2) {
+            searchRegion(compiled, text, ranges[i], ranges[i + 1], sink);
+        }
+    }
+
+    /**
+     * Searches a region of a text whose bounds have already been checked. The range loop is run over [0, to) from
+     * the shift from, so that it reports indices of the whole text.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param from    the index of the first character of the region.
+     * @param to    the index one past the last character of the region.
+     * @param sink    receives the starting index in the text of each match, in ascending order.
+     */
+    private static void searchRegion(CompiledPattern compiled, CharSequence text, int from, int to, IntConsumer sink) {
+        ScanState state = new ScanState();
+        state.shift = from;
+        boyerMooreBCGalil(compiled, text, 0, to, state, CharMatcher.EXACT, Integer.MAX_VALUE, sink);
+    }
+
+    /**
+     * Checks the arguments of the lookup, paging and lazy overloads.
+     *
+     * @param compiled    the compiled pattern.
+     * @param text    the text.
+     * @throws java.lang.IllegalArgumentException   if either argument is null.
+     */
+    private static void checkArguments(CompiledPattern compiled, CharSequence text) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+    }
+
+    /**
+     * Checks the arguments of the region overloads.
+     *
+     * @param compiled    the compiled pattern.
+     * @param text    the text.
+     * @param sink    the sink receiving matches.
+     * @throws java.lang.IllegalArgumentException   if any argument is null.
+     */
+    private static void checkArguments(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        checkArguments(compiled, text);
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+    }
+
+    /**
+     * Searches a range of a char array for a compiled pattern without counting comparisons. The range is treated as
+     * the whole text, so the reported indices are relative to offset.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the array holding the body of text where a user searches for a pattern (the haystack).
+     * @param offset    the index of the first character of the text in the array.
+     * @param length    the number of characters in the text.
+     * @param sink    receives the starting index of each match relative to offset, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     * @throws java.lang.IndexOutOfBoundsException   if the range [offset, offset + length) is not within the array.
+     */
+    public static void boyerMooreBCGalil(CompiledPattern compiled, char[] text, int offset, int length,
+                                         IntConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+        if (offset < 0 || length < 0 || offset > text.length - length) {
+            throw new IndexOutOfBoundsException("The range [" + offset + ", " + offset + " + " + length + ") is out"
+                    + " of bounds for a text of length " + text.length);
+        }
+        searchChars(compiled, text, offset, offset + length, new ScanState(), CharMatcher.EXACT, Integer.MAX_VALUE,
+                sink);
+    }
+
+    /**
+     * The entry point shared by every overload above. The arguments must already have been checked.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     */
+    static void boyerMooreBCGalil(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+        boyerMooreBCGalil(compiled, text, 0, text.length(), new ScanState(), matcher, sink);
+    }
+
+    /**
+     * Searches the range [from, to) of a text, starting at the shift and Galil's l held by a state. When the pattern
+     * no longer fits in the range the state is updated to where the scan stopped, so the scan can be resumed. The
+     * arguments must already have been checked.
+     *
+     * Each scan loop below only ever sees one type of text, so that its charAt calls stay monomorphic and the JIT
+     * can inline them. Strings have their own loop, array backed CharBuffers are searched in place through their
+     * array, and every other CharSequence falls back to the generic loop.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param from    the index of the first character of the range.
+     * @param to    the index one past the last character of the range.
+     * @param state    the shift, relative to from, and Galil's l at which to start. Updated when the scan stops.
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match relative to from, in ascending order.
+     */
+    static void boyerMooreBCGalil(CompiledPattern compiled, CharSequence text, int from, int to, ScanState state,
+                                  CharMatcher matcher, IntConsumer sink) {
+        boyerMooreBCGalil(compiled, text, from, to, state, matcher, Integer.MAX_VALUE, sink);
+    }
+
+    /**
+     * Searches the range [from, to) of a text like the overload above, but stops as soon as limit matches have been
+     * reported. The state is then left at the shift the scan would have tried next, with Galil's l set for it, so
+     * that the scan resumes right after the last match reported.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param from    the index of the first character of the range.
+     * @param to    the index one past the last character of the range.
+     * @param state    the shift, relative to from, and Galil's l at which to start. Updated when the scan stops.
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param limit    the number of matches after which the scan stops, at least 1.
+     * @param sink    receives the starting index of each match relative to from, in ascending order.
+     * @return    the number of matches reported, at most limit.
+     */
+    static int boyerMooreBCGalil(CompiledPattern compiled, CharSequence text, int from, int to, ScanState state,
+                                 CharMatcher matcher, int limit, IntConsumer sink) {
+        if (text instanceof String) {
+            return searchString(compiled, (String) text, from, to, state, matcher, limit, sink);
+        } else if (text instanceof CharBuffer && ((CharBuffer) text).hasArray()) {
+            CharBuffer buffer = (CharBuffer) text;
+            int start = buffer.arrayOffset() + buffer.position();
+            return searchChars(compiled, buffer.array(), start + from, start + to, state, matcher, limit, sink);
+        } else {
+            return searchSequence(compiled, text, from, to, state, matcher, limit, sink);
+        }
+    }
+
+    /**
+     * The scan loop for any CharSequence.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param from    the index of the first character of the range being searched.
+     * @param to    the index one past the last character of the range being searched.
+     * @param state    the shift, relative to from, and Galil's l at which to start. Updated when the scan stops.
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param limit    the number of matches after which the scan stops.
+     * @param sink    receives the starting index of each match relative to from, in ascending order.
+     * @return    the number of matches reported.
+     */
+    private static int searchSequence(CompiledPattern compiled, CharSequence text, int from, int to,
+                                      ScanState state, CharMatcher matcher, int limit, IntConsumer sink) {
+        char[] pattern = compiled.chars();
+        int m = compiled.length();
 
         // lot is the last occurrence table built for the passed in pattern as specified by the bad character heuristic.
-        Map<Character, Integer> lot = LastOccurrenceTable.buildLastTable(pattern);
+        PrimitiveLastTable lot = compiled.lastOccurrenceTable();
 
         /*
         i is the shift of the pattern with respect to the text. Or rather, it is the element in the text that we
         are comparing pattern.charAt(0) with.
          */
-        int i = 0;
+        int i = from + state.shift;
 
         /*
-        Instead of checking each character of the pattern (0 <- m), we will instead check (l <- m). While we do
-        initialize l to zero, its value could change later according to the Galil rule.
+        Instead of checking each character of the pattern (0 <- m), we will instead check (l <- m). A fresh state
+        starts l at zero, but its value could change later according to the Galil rule.
          */
-        int l = 0;
+        int l = state.l;
 
         // k is the "periodicity" of the pattern
-        int k = m - FailureTable.buildFailureTable(pattern, new CharacterComparator())[m - 1];
+        int k = compiled.period();
+
+        // count is the number of matches reported so far.
+        int count = 0;
 
-        while (i <= n - m) {
+        while (i <= to - m) {
             // once again recall that BM checks from right to left
             // j will keep track of which element in the pattern we are currently checking
             int j = m - 1;
 
             // so long as the characters of the pattern and text are matching keep moving left in the pattern
-            while (j >= l && comparator.compare(pattern.charAt(j), text.charAt(i + j)) == 0) {
+            while (j >= l && matcher.eq(pattern[j], text.charAt(i + j))) {
                 j--;
             }
 
             // If j < l then we have found a match
             if (j < l) {
-                matches.add(i);
+                sink.accept(i - from);
                 l = m - k;
                 i += k;
+                if (++count == limit) {
+                    break;
+                }
             } else {
                 /*
                 If we have been exploiting Galil's rule, and we suddenly have a mismatch, it no longer suffices to
@@ -87,7 +602,7 @@ public class BoyerMooreBCGalil {
                 l = 0;
 
                 // Typical mismatch shifting scheme as detailed by the bad character heuristic.
-                int shift = lot.getOrDefault(text.charAt(i + j), -1);
+                int shift = lot.get(text.charAt(i + j));
                 if (shift < j) {
                     i = i + j - shift;
                 } else {
@@ -95,6 +610,106 @@ public class BoyerMooreBCGalil {
                 }
             }
         }
-        return matches;
+        state.shift = i - from;
+        state.l = l;
+        return count;
+    }
+
+    /**
+     * The scan loop of searchSequence specialized for Strings.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param from    the index of the first character of the range being searched.
+     * @param to    the index one past the last character of the range being searched.
+     * @param state    the shift, relative to from, and Galil's l at which to start. Updated when the scan stops.
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param limit    the number of matches after which the scan stops.
+     * @param sink    receives the starting index of each match relative to from, in ascending order.
+     * @return    the number of matches reported.
+     */
+    private static int searchString(CompiledPattern compiled, String text, int from, int to, ScanState state,
+                                    CharMatcher matcher, int limit, IntConsumer sink) {
+        char[] pattern = compiled.chars();
+        int m = compiled.length();
+        PrimitiveLastTable lot = compiled.lastOccurrenceTable();
+        int k = compiled.period();
+
+        int i = from + state.shift;
+        int last = to - m;
+        int l = state.l;
+        int count = 0;
+        while (i <= last) {
+            int j = m - 1;
+            while (j >= l && matcher.eq(pattern[j], text.charAt(i + j))) {
+                j--;
+            }
+            if (j < l) {
+                sink.accept(i - from);
+                l = m - k;
+                i += k;
+                if (++count == limit) {
+                    break;
+                }
+            } else {
+                l = 0;
+                int shift = lot.get(text.charAt(i + j));
+                i += shift < j ? j - shift : 1;
+            }
+        }
+        state.shift = i - from;
+        state.l = l;
+        return count;
+    }
+
+    /**
+     * The scan loop of searchSequence specialized for a range of a char array. The scan starts at the shift and
+     * Galil's l held by the state, and when the pattern no longer fits in text[from, to) the state is updated to
+     * where the scan stopped. Every shift before state.shift has then been checked, and state.shift &gt; to - from - m
+     * unless the scan stopped at the limit.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the array holding the body of text.
+     * @param from    the index of the first character of the text in the array.
+     * @param to    the index one past the last character of the text in the array.
+     * @param state    the shift, relative to from, and Galil's l at which to start. Updated when the scan stops.
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param limit    the number of matches after which the scan stops.
+     * @param sink    receives the starting index of each match relative to from, in ascending order.
+     * @return    the number of matches reported.
+     */
+    static int searchChars(CompiledPattern compiled, char[] text, int from, int to, ScanState state,
+                           CharMatcher matcher, int limit, IntConsumer sink) {
+        char[] pattern = compiled.chars();
+        int m = compiled.length();
+        PrimitiveLastTable lot = compiled.lastOccurrenceTable();
+        int k = compiled.period();
+
+        // i is the index in the array that is aligned with pattern[0]; last is the final valid value of i.
+        int i = from + state.shift;
+        int last = to - m;
+        int l = state.l;
+        int count = 0;
+        while (i <= last) {
+            int j = m - 1;
+            while (j >= l && matcher.eq(pattern[j], text[i + j])) {
+                j--;
+            }
+            if (j < l) {
+                sink.accept(i - from);
+                l = m - k;
+                i += k;
+                if (++count == limit) {
+                    break;
+                }
+            } else {
+                l = 0;
+                int shift = lot.get(text[i + j]);
+                i += shift < j ? j - shift : 1;
+            }
+        }
+        state.shift = i - from;
+        state.l = l;
+        return count;
     }
 }
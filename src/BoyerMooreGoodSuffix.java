@@ -1,6 +1,7 @@
+import java.nio.CharBuffer;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.function.IntConsumer;
 
 public class BoyerMooreGoodSuffix {
     /**
@@ -24,6 +25,60 @@ public class BoyerMooreGoodSuffix {
             throw new IllegalArgumentException("Your pattern cannot be of length 0. Please call this method with"
                     + " a non-zero length pattern");
         }
+        return boyerMoore(CompiledPattern.compile(pattern), text, comparator);
+    }
+
+    /**
+     * A Boyer Moore algorithm implementation that relies on the bad character rule and the good suffix heuristic,
+     * run on a pattern whose last occurrence table and good suffix arrays have already been built.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or comparator is null.
+     */
+    public static List<Integer> boyerMoore(CompiledPattern compiled,
+                                           CharSequence text,
+                                           CharacterComparator comparator) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        boyerMoore(compiled, text, comparator, matches::add);
+        return matches;
+    }
+
+    /**
+     * Reports the starting index of each match to a sink instead of collecting them in a list, so that no Integer
+     * is boxed per match. Pass a MatchBuffer to collect the matches in a reusable int array.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the pattern, text, comparator, or sink is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static void boyerMoore(CharSequence pattern, CharSequence text, CharacterComparator comparator,
+                                  IntConsumer sink) {
+        boyerMoore(CompiledPattern.compile(pattern), text, comparator, sink);
+    }
+
+    /**
+     * Searches the text for a compiled pattern and reports the starting index of each match to a sink. Once a
+     * MatchBuffer has grown to hold the matches, repeated searches allocate nothing per match.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, comparator, or sink is null.
+     */
+    public static void boyerMoore(CompiledPattern compiled, CharSequence text, CharacterComparator comparator,
+                                  IntConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
         if (text == null) {
             throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
                     + " non-null text parameter.");
@@ -32,64 +87,528 @@ public class BoyerMooreGoodSuffix {
             throw new IllegalArgumentException("Your comparator cannot be null. Please try again with a "
                     + " non-null comparator parameter.");
         }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+        boyerMoore(compiled, text, CharMatcher.counting(comparator), sink);
+    }
 
+    /**
+     * Searches the text for a compiled pattern without counting comparisons. Characters are compared with a plain
+     * ==, so this is the overload to use outside of tests.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static List<Integer> boyerMoore(CompiledPattern compiled, CharSequence text) {
         // matches will store the starting indices of each match found
-        ArrayList<Integer> matches = new ArrayList<>();
+        List<Integer> matches = new ArrayList<>();
+        boyerMoore(compiled, text, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a pattern without counting comparisons.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the pattern or text is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static List<Integer> boyerMoore(CharSequence pattern, CharSequence text) {
+        return boyerMoore(CompiledPattern.compile(pattern), text);
+    }
 
-        if (pattern.length() > text.length()) {
-            return matches;
+    /**
+     * Searches the text for a compiled pattern without counting comparisons, reporting the starting index of each
+     * match to a sink. Neither the comparisons nor the matches box or allocate.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     */
+    public static void boyerMoore(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
         }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+        boyerMoore(compiled, text, CharMatcher.EXACT, sink);
+    }
+
+    /**
+     * Counts the occurrences of a pattern in the text without counting comparisons.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return    the number of matches, overlapping ones included.
+     * @throws java.lang.IllegalArgumentException   if the pattern or text is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static int count(CharSequence pattern, CharSequence text) {
+        return count(CompiledPattern.compile(pattern), text);
+    }
 
-        int n = text.length();
-        int m = pattern.length();
+    /**
+     * Counts the occurrences of a compiled pattern in the text without counting comparisons. No list is built and
+     * nothing is allocated per match.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return    the number of matches, overlapping ones included.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static int count(CompiledPattern compiled, CharSequence text) {
+        checkArguments(compiled, text);
+        return boyerMoore(compiled, text, 0, text.length(), new ScanState(), CharMatcher.EXACT,
+                Integer.MAX_VALUE, offset -> { });
+    }
+
+    /**
+     * Checks whether a pattern occurs in the text without counting comparisons.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return    true if the pattern occurs at least once in the text.
+     * @throws java.lang.IllegalArgumentException   if the pattern or text is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static boolean contains(CharSequence pattern, CharSequence text) {
+        return contains(CompiledPattern.compile(pattern), text);
+    }
+
+    /**
+     * Checks whether a compiled pattern occurs in the text without counting comparisons. The scan stops at the first
+     * match, so the rest of the text is never read.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return    true if the pattern occurs at least once in the text.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static boolean contains(CompiledPattern compiled, CharSequence text) {
+        checkArguments(compiled, text);
+        return boyerMoore(compiled, text, 0, text.length(), new ScanState(), CharMatcher.EXACT, 1,
+                offset -> { }) > 0;
+    }
+
+    /**
+     * Finds the first occurrence of a pattern in the text without counting comparisons.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return    the starting index of the first match, or -1 if the pattern does not occur in the text.
+     * @throws java.lang.IllegalArgumentException   if the pattern or text is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static int findFirst(CharSequence pattern, CharSequence text) {
+        return findFirst(CompiledPattern.compile(pattern), text);
+    }
+
+    /**
+     * Finds the first occurrence of a compiled pattern in the text without counting comparisons. The scan stops at
+     * the first match.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return    the starting index of the first match, or -1 if the pattern does not occur in the text.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static int findFirst(CompiledPattern compiled, CharSequence text) {
+        checkArguments(compiled, text);
+        int[] first = {-1};
+        boyerMoore(compiled, text, 0, text.length(), new ScanState(), CharMatcher.EXACT, 1,
+                offset -> first[0] = offset);
+        return first[0];
+    }
+
+    /**
+     * Finds the first limit occurrences of a compiled pattern in the text without counting comparisons. The scan
+     * stops as soon as the limit is reached, and the returned page holds the continuation from which the next page
+     * can be fetched.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param limit    the largest number of matches to return.
+     * @return    a page with at most limit matches.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     * @throws java.lang.IllegalArgumentException   if the limit is not positive.
+     */
+    public static SearchPage findAll(CompiledPattern compiled, CharSequence text, int limit) {
+        return findAll(compiled, text, Continuation.START, limit);
+    }
+
+    /**
+     * Finds the next limit occurrences of a compiled pattern in the text, resuming a previous search where it
+     * stopped. The text must be the one the continuation was taken from.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param continuation    where to resume, Continuation.START or the continuation of the previous page.
+     * @param limit    the largest number of matches to return.
+     * @return    a page with at most limit matches, all of them after the matches of the previous pages.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or continuation is null.
+     * @throws java.lang.IllegalArgumentException   if the limit is not positive.
+     */
+    public static SearchPage findAll(CompiledPattern compiled, CharSequence text, Continuation continuation,
+                                     int limit) {
+        checkArguments(compiled, text);
+        if (continuation == null) {
+            throw new IllegalArgumentException("Your continuation cannot be null. Please pass in"
+                    + " Continuation.START to start a new search.");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Your limit must be positive. Please pass in a limit of at least"
+                    + " one match.");
+        }
+        ScanState state = continuation.toState();
+        List<Integer> matches = new ArrayList<>();
+        boyerMoore(compiled, text, 0, text.length(), state, CharMatcher.EXACT, limit, matches::add);
+        return new SearchPage(matches, state, text.length() - compiled.length());
+    }
+
+    /**
+     * Searches the region [from, to) of a text for a compiled pattern without counting comparisons or copying the
+     * region. Only matches lying entirely within the region are found, and they are reported as indices of the
+     * whole text.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param from    the index of the first character of the region.
+     * @param to    the index one past the last character of the region.
+     * @return     a list containing the starting index in the text for each match found in the region.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     * @throws java.lang.IndexOutOfBoundsException   if the region [from, to) is not within the text.
+     */
+    public static List<Integer> boyerMoore(CompiledPattern compiled, CharSequence text, int from, int to) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        boyerMoore(compiled, text, from, to, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the region [from, to) of a text for a compiled pattern without counting comparisons or copying the
+     * region, reporting the index in the whole text of each match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param from    the index of the first character of the region.
+     * @param to    the index one past the last character of the region.
+     * @param sink    receives the starting index in the text of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     * @throws java.lang.IndexOutOfBoundsException   if the region [from, to) is not within the text.
+     */
+    public static void boyerMoore(CompiledPattern compiled, CharSequence text, int from, int to, IntConsumer sink) {
+        checkArguments(compiled, text, sink);
+        Ranges.check(from, to, text.length());
+        searchRegion(compiled, text, from, to, sink);
+    }
+
+    /**
+     * Searches several regions of a text for a compiled pattern, one after the other, with the same preprocessed
+     * tables. Each region is searched as by the from/to overload above, so a match is reported once for every
+     * region containing it.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param ranges    the regions to search, as consecutive from and to pairs: region i is
+     *                  [ranges[2i], ranges[2i + 1]).
+     * @param sink    receives the starting index in the text of each match, region by region.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, ranges, or sink is null.
+     * @throws java.lang.IllegalArgumentException   if the ranges have an odd length.
+     * @throws java.lang.IndexOutOfBoundsException   if any region is not within the text. No region is searched then.
+     */
+    public static void boyerMoore(CompiledPattern compiled, CharSequence text, int[] ranges, IntConsumer sink) {
+        checkArguments(compiled, text, sink);
+        Ranges.checkAll(ranges, text.length());
+        for (int i = 0; i < ranges.length; i += 2) {
+            searchRegion(compiled, text, ranges[i], ranges[i + 1], sink);
+        }
+    }
+
+    /**
+     * Searches a region of a text whose bounds have already been checked. The range loop is run over [0, to) from
+     * the shift from, so that it reports indices of the whole text.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param from    the index of the first character of the region.
+     * @param to    the index one past the last character of the region.
+     * @param sink    receives the starting index in the text of each match, in ascending order.
+     */
+    private static void searchRegion(CompiledPattern compiled, CharSequence text, int from, int to, IntConsumer sink) {
+        ScanState state = new ScanState();
+        state.shift = from;
+        boyerMoore(compiled, text, 0, to, state, CharMatcher.EXACT, Integer.MAX_VALUE, sink);
+    }
+
+    /**
+     * Checks the arguments of count, contains, findFirst and findAll.
+     *
+     * @param compiled    the compiled pattern.
+     * @param text    the text.
+     * @throws java.lang.IllegalArgumentException   if either argument is null.
+     */
+    private static void checkArguments(CompiledPattern compiled, CharSequence text) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+    }
+
+    /**
+     * Checks the arguments of the region overloads.
+     *
+     * @param compiled    the compiled pattern.
+     * @param text    the text.
+     * @param sink    the sink receiving matches.
+     * @throws java.lang.IllegalArgumentException   if any argument is null.
+     */
+    private static void checkArguments(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        checkArguments(compiled, text);
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+    }
+
+    /**
+     * Searches a range of a char array for a compiled pattern without counting comparisons. The range is treated as
+     * the whole text, so the reported indices are relative to offset.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the array holding the body of text where a user searches for a pattern (the haystack).
+     * @param offset    the index of the first character of the text in the array.
+     * @param length    the number of characters in the text.
+     * @param sink    receives the starting index of each match relative to offset, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     * @throws java.lang.IndexOutOfBoundsException   if the range [offset, offset + length) is not within the array.
+     */
+    public static void boyerMoore(CompiledPattern compiled, char[] text, int offset, int length,
+                                  IntConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+        if (offset < 0 || length < 0 || offset > text.length - length) {
+            throw new IndexOutOfBoundsException("The range [" + offset + ", " + offset + " + " + length + ") is out"
+                    + " of bounds for a text of length " + text.length);
+        }
+        searchChars(compiled, text, offset, offset + length, new ScanState(), CharMatcher.EXACT, Integer.MAX_VALUE,
+                sink);
+    }
+
+    /**
+     * The entry point shared by every overload above. The arguments must already have been checked.
+     *
+     * As in BoyerMooreBCGalil, each scan loop below only ever sees one type of text so that its charAt calls stay
+     * monomorphic.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     */
+    static void boyerMoore(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+        boyerMoore(compiled, text, 0, text.length(), new ScanState(), matcher, Integer.MAX_VALUE, sink);
+    }
+
+    /**
+     * Searches the range [from, to) of a text, starting at the shift held by a state, and stops as soon as limit
+     * matches have been reported or the pattern no longer fits in the range. The state is then updated to the shift
+     * the scan would have tried next, so that the scan can be resumed. The arguments must already have been checked.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param from    the index of the first character of the range.
+     * @param to    the index one past the last character of the range.
+     * @param state    the shift, relative to from, at which to start. Updated when the scan stops.
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param limit    the number of matches after which the scan stops, at least 1.
+     * @param sink    receives the starting index of each match relative to from, in ascending order.
+     * @return    the number of matches reported, at most limit.
+     */
+    static int boyerMoore(CompiledPattern compiled, CharSequence text, int from, int to, ScanState state,
+                          CharMatcher matcher, int limit, IntConsumer sink) {
+        if (text instanceof String) {
+            return searchString(compiled, (String) text, from, to, state, matcher, limit, sink);
+        } else if (text instanceof CharBuffer && ((CharBuffer) text).hasArray()) {
+            CharBuffer buffer = (CharBuffer) text;
+            int start = buffer.arrayOffset() + buffer.position();
+            return searchChars(compiled, buffer.array(), start + from, start + to, state, matcher, limit, sink);
+        } else {
+            return searchSequence(compiled, text, from, to, state, matcher, limit, sink);
+        }
+    }
+
+    /**
+     * The scan loop for any CharSequence.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param from    the index of the first character of the range being searched.
+     * @param to    the index one past the last character of the range being searched.
+     * @param state    the shift, relative to from, at which to start. Updated when the scan stops.
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param limit    the number of matches after which the scan stops.
+     * @param sink    receives the starting index of each match relative to from, in ascending order.
+     * @return    the number of matches reported.
+     */
+    private static int searchSequence(CompiledPattern compiled, CharSequence text, int from, int to,
+                                      ScanState state, CharMatcher matcher, int limit, IntConsumer sink) {
+        char[] pattern = compiled.chars();
+        int m = compiled.length();
 
         // lot is the last occurrence table built for the passed in pattern as specified by the bad character heuristic.
-        HashMap<Character, Integer> lot = (HashMap<Character, Integer>) LastOccurrenceTable.buildLastTable(pattern);
+        PrimitiveLastTable lot = compiled.lastOccurrenceTable();
 
         /*
-        the integer array f is a border position array. Each entry in f contains the starting index of the border for
-        the suffix starting at index i for the passed in pattern.
         each entry in the shift array contains the distance the pattern will shift by if there is a mismatch at index
-        i - 1.
-        Note that both array are set to the length of the pattern + 1 so that if there is a mismatch at index m our
-        call shift[m + 1] will not throw an IndexOutOfBoundsException.
-        See the preprocessing methods below for more details.
+        i - 1. The array has length m + 1 so that a mismatch at index m - 1 can read shift[m].
+        See GoodSuffixPreprocessing for details on how the array is built.
          */
-        int[] f = new int[m + 1];
-        int[] shift = new int[m + 1];
-
-        for (int i = 0; i < m + 1; i++) {
-            shift[i] = 0;
-        }
-
-        GoodSuffixPreprocessing.preprocessStrongSuffix(shift, f, pattern, comparator);
-        GoodSuffixPreprocessing.preprocessCase2(shift, f, pattern);
+        int[] shift = compiled.goodSuffixShifts();
 
-        // s is the shift of the pattern
-        int s = 0;
+        // s is the index in the text aligned with the first element of the pattern
+        int s = from + state.shift;
         // j will keep track of which element in the pattern we are currently checking
         int j;
+        // count is the number of matches reported so far.
+        int count = 0;
 
-        while (s <= n - m) {
+        while (s <= to - m) {
             // once again recall that BM checks from right to left.
             j = m - 1;
 
             // so long as the characters of the pattern and text are matching keeping moving left in the pattern.
-            while (j >= 0 && comparator.compare(pattern.charAt(j), text.charAt(s + j)) == 0) {
+            while (j >= 0 && matcher.eq(pattern[j], text.charAt(s + j))) {
                 j--;
             }
 
             // If j < 0 then we have found a match
             if (j < 0) {
-                matches.add(s);
+                sink.accept(s - from);
                 s += shift[0];
+                if (++count == limit) {
+                    break;
+                }
             } else {
-                int lotShift = lot.getOrDefault(text.charAt(s + j), -1);
+                int lotShift = lot.get(text.charAt(s + j));
                 // We will shift the text according to the maximum of the good suffix and bad character heuristics.
                 s += Math.max(shift[j + 1], j - lotShift);
             }
         }
+        state.shift = s - from;
+        return count;
+    }
+
+    /**
+     * The scan loop of searchSequence specialized for Strings.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param from    the index of the first character of the range being searched.
+     * @param to    the index one past the last character of the range being searched.
+     * @param state    the shift, relative to from, at which to start. Updated when the scan stops.
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param limit    the number of matches after which the scan stops.
+     * @param sink    receives the starting index of each match relative to from, in ascending order.
+     * @return    the number of matches reported.
+     */
+    private static int searchString(CompiledPattern compiled, String text, int from, int to, ScanState state,
+                                    CharMatcher matcher, int limit, IntConsumer sink) {
+        char[] pattern = compiled.chars();
+        int m = compiled.length();
+        PrimitiveLastTable lot = compiled.lastOccurrenceTable();
+        int[] shift = compiled.goodSuffixShifts();
+
+        int s = from + state.shift;
+        int last = to - m;
+        int count = 0;
+        while (s <= last) {
+            int j = m - 1;
+            while (j >= 0 && matcher.eq(pattern[j], text.charAt(s + j))) {
+                j--;
+            }
+            if (j < 0) {
+                sink.accept(s - from);
+                s += shift[0];
+                if (++count == limit) {
+                    break;
+                }
+            } else {
+                s += Math.max(shift[j + 1], j - lot.get(text.charAt(s + j)));
+            }
+        }
+        state.shift = s - from;
+        return count;
+    }
 
-        return matches;
+    /**
+     * The scan loop of searchSequence specialized for a range of a char array.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the array holding the body of text.
+     * @param from    the index of the first character of the text in the array.
+     * @param to    the index one past the last character of the text in the array.
+     * @param state    the shift, relative to from, at which to start. Updated when the scan stops.
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param limit    the number of matches after which the scan stops.
+     * @param sink    receives the starting index of each match relative to from, in ascending order.
+     * @return    the number of matches reported.
+     */
+    private static int searchChars(CompiledPattern compiled, char[] text, int from, int to, ScanState state,
+                                   CharMatcher matcher, int limit, IntConsumer sink) {
+        char[] pattern = compiled.chars();
+        int m = compiled.length();
+        PrimitiveLastTable lot = compiled.lastOccurrenceTable();
+        int[] shift = compiled.goodSuffixShifts();
+
+        // s is the index in the array that is aligned with pattern[0]; last is the final valid value of s.
+        int s = from + state.shift;
+        int last = to - m;
+        int count = 0;
+        while (s <= last) {
+            int j = m - 1;
+            while (j >= 0 && matcher.eq(pattern[j], text[s + j])) {
+                j--;
+            }
+            if (j < 0) {
+                sink.accept(s - from);
+                s += shift[0];
+                if (++count == limit) {
+                    break;
+                }
+            } else {
+                s += Math.max(shift[j + 1], j - lot.get(text[s + j]));
+            }
+        }
+        state.shift = s - from;
+        return count;
     }
 }
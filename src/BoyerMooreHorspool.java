@@ -0,0 +1,163 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * An implementation of Horspool's simplification of the Boyer Moore algorithm with Zvi Galil's optimization
+ * technique.
+ *
+ * Where BoyerMooreBCGalil shifts on the text character at the mismatch, Horspool always shifts on the text character
+ * under the last element of the pattern, lining it up with its last occurrence in p[0, m - 2]. The shift no longer
+ * depends on where the mismatch happened, which for short patterns over large alphabets gives longer shifts on
+ * average. Matches are handled exactly as in BoyerMooreBCGalil: after a match the pattern is shifted by its period k
+ * and only the last k elements are compared.
+ *
+ * The results are identical to those of BoyerMooreBCGalil.
+ */
+public class BoyerMooreHorspool {
+
+    /**
+     * Searches the text for a pattern, counting comparisons with the comparator.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the pattern, text, or comparator is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static List<Integer> boyerMooreHorspool(CharSequence pattern, CharSequence text,
+                                                   CharacterComparator comparator) {
+        return boyerMooreHorspool(CompiledPattern.compile(pattern), text, comparator);
+    }
+
+    /**
+     * Searches the text for a compiled pattern, counting comparisons with the comparator.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or comparator is null.
+     */
+    public static List<Integer> boyerMooreHorspool(CompiledPattern compiled, CharSequence text,
+                                                   CharacterComparator comparator) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        boyerMooreHorspool(compiled, text, comparator, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a compiled pattern, counting comparisons with the comparator and reporting the starting
+     * index of each match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, comparator, or sink is null.
+     */
+    public static void boyerMooreHorspool(CompiledPattern compiled, CharSequence text, CharacterComparator comparator,
+                                          IntConsumer sink) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Your comparator cannot be null. Please try again with a "
+                    + " non-null comparator parameter.");
+        }
+        checkArguments(compiled, text, sink);
+        boyerMooreHorspool(compiled, text, CharMatcher.counting(comparator), sink);
+    }
+
+    /**
+     * Searches the text for a compiled pattern without counting comparisons.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static List<Integer> boyerMooreHorspool(CompiledPattern compiled, CharSequence text) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        boyerMooreHorspool(compiled, text, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a compiled pattern without counting comparisons, reporting the starting index of each
+     * match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     */
+    public static void boyerMooreHorspool(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        checkArguments(compiled, text, sink);
+        boyerMooreHorspool(compiled, text, CharMatcher.EXACT, sink);
+    }
+
+    /**
+     * Checks the arguments shared by every public overload.
+     *
+     * @param compiled    the compiled pattern.
+     * @param text    the text.
+     * @param sink    the sink receiving matches.
+     * @throws java.lang.IllegalArgumentException   if any argument is null.
+     */
+    private static void checkArguments(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+    }
+
+    /**
+     * The scan loop shared by every overload above. The arguments must already have been checked.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     */
+    static void boyerMooreHorspool(CompiledPattern compiled, CharSequence text, CharMatcher matcher,
+                                   IntConsumer sink) {
+        char[] pattern = compiled.chars();
+        int n = text.length();
+        int m = compiled.length();
+        PrimitiveLastTable lot = compiled.horspoolTable();
+        int k = compiled.period();
+
+        // i is the shift of the pattern with respect to the text.
+        int i = 0;
+
+        // as in BoyerMooreBCGalil, only the elements (l <- m) of the pattern still need to be checked.
+        int l = 0;
+        while (i <= n - m) {
+            int j = m - 1;
+            while (j >= l && matcher.eq(pattern[j], text.charAt(i + j))) {
+                j--;
+            }
+            if (j < l) {
+                sink.accept(i);
+                l = m - k;
+                i += k;
+            } else {
+                l = 0;
+                /*
+                Horspool's shift only looks at the text character under the end of the pattern, whatever j is. The
+                shift is at least one since the table does not include the final element of the pattern.
+                 */
+                i += m - 1 - lot.get(text.charAt(i + m - 1));
+            }
+        }
+    }
+}
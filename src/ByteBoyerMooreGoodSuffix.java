@@ -0,0 +1,167 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * The byte counterpart of BoyerMooreGoodSuffix: the Boyer Moore algorithm with the bad character rule and the good
+ * suffix heuristic, run over raw bytes such as ASCII or UTF-8 logs without decoding them into a String.
+ *
+ * On a mismatch the larger of the good suffix and bad character shifts is taken, both read from tables built once by
+ * CompiledBytePattern. Every window is compared from the right end, with no memory of earlier matches. Bytes are
+ * compared with ==.
+ */
+public class ByteBoyerMooreGoodSuffix {
+
+    /**
+     * Searches a byte array for a byte pattern.
+     *
+     * @param pattern    the pattern a user is searching for in a body of bytes (the needle).
+     * @param text    the body of bytes where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the pattern or text is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static List<Integer> boyerMoore(byte[] pattern, byte[] text) {
+        CompiledBytePattern compiled = CompiledBytePattern.compile(pattern);
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        searchBytes(compiled, text, 0, text.length, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches a range of a byte array for a compiled pattern. The range is treated as the whole text, so the
+     * reported indices are relative to offset.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of bytes (the needle).
+     * @param text    the array holding the body of bytes where a user searches for a pattern (the haystack).
+     * @param offset    the index of the first byte of the text in the array.
+     * @param length    the number of bytes in the text.
+     * @param sink    receives the starting index of each match relative to offset, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     * @throws java.lang.IndexOutOfBoundsException   if the range [offset, offset + length) is not within the array.
+     */
+    public static void boyerMoore(CompiledBytePattern compiled, byte[] text, int offset, int length,
+                                  IntConsumer sink) {
+        checkArguments(compiled, text, sink);
+        if (offset < 0 || length < 0 || offset > text.length - length) {
+            throw new IndexOutOfBoundsException("The range [" + offset + ", " + offset + " + " + length + ") is out"
+                    + " of bounds for a text of length " + text.length);
+        }
+        searchBytes(compiled, text, offset, offset + length, sink);
+    }
+
+    /**
+     * Searches the bytes between the position and the limit of a ByteBuffer for a compiled pattern. Heap buffers
+     * are searched through their backing array; direct buffers, including memory mapped files, are read with
+     * absolute gets. The position and limit of the buffer are not changed.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of bytes (the needle).
+     * @param text    the buffer holding the body of bytes where a user searches for a pattern (the haystack).
+     * @param sink    receives the starting index of each match relative to the buffer's position, in ascending
+     *                order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     */
+    public static void boyerMoore(CompiledBytePattern compiled, ByteBuffer text, IntConsumer sink) {
+        checkArguments(compiled, text, sink);
+        if (text.hasArray()) {
+            int from = text.arrayOffset() + text.position();
+            searchBytes(compiled, text.array(), from, from + text.remaining(), sink);
+        } else {
+            searchBuffer(compiled, text, text.position(), text.limit(), sink);
+        }
+    }
+
+    /**
+     * Checks the arguments shared by the search methods above.
+     *
+     * @param compiled    the compiled pattern.
+     * @param text    the text, either a byte array or a ByteBuffer.
+     * @param sink    the sink.
+     * @throws java.lang.IllegalArgumentException   if any argument is null.
+     */
+    private static void checkArguments(CompiledBytePattern compiled, Object text, IntConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+    }
+
+    /**
+     * The scan loop for the bytes text[from, to) of an array.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of bytes (the needle).
+     * @param text    the array holding the body of bytes.
+     * @param from    the index of the first byte of the text.
+     * @param to    the index one past the last byte of the text.
+     * @param sink    receives the starting index of each match relative to from, in ascending order.
+     */
+    private static void searchBytes(CompiledBytePattern compiled, byte[] text, int from, int to, IntConsumer sink) {
+        byte[] pattern = compiled.bytes();
+        int m = compiled.length();
+        int[] lot = compiled.lastOccurrenceTable();
+        int[] shift = compiled.goodSuffixShifts();
+
+        // s is the index of the text that is aligned with pattern[0]; last is the final valid value of s.
+        int s = from;
+        int last = to - m;
+        while (s <= last) {
+            int j = m - 1;
+            while (j >= 0 && pattern[j] == text[s + j]) {
+                j--;
+            }
+            if (j < 0) {
+                sink.accept(s - from);
+                s += shift[0];
+            } else {
+                s += Math.max(shift[j + 1], j - lot[text[s + j] & 0xFF]);
+            }
+        }
+    }
+
+    /**
+     * The scan loop of searchBytes for the bytes [from, to) of a ByteBuffer without an accessible array.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of bytes (the needle).
+     * @param text    the buffer holding the body of bytes.
+     * @param from    the index of the first byte of the text.
+     * @param to    the index one past the last byte of the text.
+     * @param sink    receives the starting index of each match relative to from, in ascending order.
+     */
+    private static void searchBuffer(CompiledBytePattern compiled, ByteBuffer text, int from, int to,
+                                     IntConsumer sink) {
+        byte[] pattern = compiled.bytes();
+        int m = compiled.length();
+        int[] lot = compiled.lastOccurrenceTable();
+        int[] shift = compiled.goodSuffixShifts();
+
+        // s is the index of the text that is aligned with pattern[0]; last is the final valid value of s.
+        int s = from;
+        int last = to - m;
+        while (s <= last) {
+            int j = m - 1;
+            while (j >= 0 && pattern[j] == text.get(s + j)) {
+                j--;
+            }
+            if (j < 0) {
+                sink.accept(s - from);
+                s += shift[0];
+            } else {
+                s += Math.max(shift[j + 1], j - lot[text.get(s + j) & 0xFF]);
+            }
+        }
+    }
+}
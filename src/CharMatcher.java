@@ -0,0 +1,34 @@
+/**
+ * A primitive test for character equality used by the inner loops of the search algorithms.
+ *
+ * CharacterComparator implements Comparator&lt;Character&gt;, so every comparison made through it boxes two chars
+ * and writes to its comparison counter. The search algorithms instead compare characters through a CharMatcher:
+ * uninstrumented searches use EXACT, which compiles down to a plain ==, and searches that are handed a
+ * CharacterComparator wrap it with counting() so that its comparison count stays accurate.
+ *
+ * A CharMatcher must agree with ==. The bad character and good suffix tables are built on exact equality, so any
+ * looser equivalence would make the algorithms skip over matches.
+ */
+@FunctionalInterface
+interface CharMatcher {
+
+    // exact character equality without any instrumentation.
+    CharMatcher EXACT = (a, b) -> a == b;
+
+    /**
+     * @param a    first character to be compared
+     * @param b    second character to be compared
+     * @return    true if the two characters are equal
+     */
+    boolean eq(char a, char b);
+
+    /**
+     * Adapts a CharacterComparator, so that every comparison made by a search is counted by it.
+     *
+     * @param comparator    the comparator that counts comparisons.
+     * @return    a CharMatcher that compares through the comparator.
+     */
+    static CharMatcher counting(CharacterComparator comparator) {
+        return (a, b) -> comparator.compare(a, b) == 0;
+    }
+}
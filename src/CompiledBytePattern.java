@@ -0,0 +1,110 @@
+/**
+ * The byte counterpart of CompiledPattern: a byte pattern whose last occurrence table, period and good suffix
+ * arrays have been built once, so that it can be searched for in any number of byte arrays or ByteBuffers without
+ * decoding them into Strings first.
+ *
+ * Instances are immutable, so a single CompiledBytePattern may be shared between threads without synchronization.
+ */
+public final class CompiledBytePattern {
+
+    // a private copy of the pattern, so later changes to the caller's array do not affect the tables.
+    private final byte[] pattern;
+
+    private final int m;
+
+    // lot is the 256 entry last occurrence table, indexed by the unsigned value of a byte.
+    private final int[] lot;
+
+    // k is the "periodicity" of the pattern
+    private final int k;
+
+    // the border position array f and the good suffix shift array, both of length m + 1.
+    private final int[] f;
+    private final int[] shift;
+
+    /**
+     * Runs all of the preprocessing for the given pattern.
+     *
+     * @param pattern    the pattern to preprocess.
+     */
+    private CompiledBytePattern(byte[] pattern) {
+        this.pattern = pattern.clone();
+        this.m = this.pattern.length;
+        this.lot = LastOccurrenceTable.buildByteTable(this.pattern);
+        this.k = m - FailureTable.buildFailureTable(this.pattern)[m - 1];
+
+        this.f = new int[m + 1];
+        this.shift = new int[m + 1];
+        GoodSuffixPreprocessing.preprocessStrongSuffix(shift, f, this.pattern);
+        GoodSuffixPreprocessing.preprocessCase2(shift, f, this.pattern);
+    }
+
+    /**
+     * Preprocesses a byte pattern for repeated searching.
+     *
+     * @param pattern    the pattern a user is searching for in a body of bytes (the needle).
+     * @return    a compiled, immutable form of the pattern.
+     * @throws java.lang.IllegalArgumentException    if the pattern is null.
+     * @throws java.lang.IllegalArgumentException    if the pattern has length 0.
+     */
+    public static CompiledBytePattern compile(byte[] pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("Your pattern cannot be a null value. Please pass in a valid pattern"
+                    + " parameter argument.");
+        }
+        if (pattern.length == 0) {
+            throw new IllegalArgumentException("Your pattern cannot be of length 0. Please call this method with"
+                    + " a non-zero length pattern");
+        }
+        return new CompiledBytePattern(pattern);
+    }
+
+    /**
+     * @return    a copy of the pattern this object was compiled from.
+     */
+    public byte[] pattern() {
+        return pattern.clone();
+    }
+
+    /**
+     * @return    the length m of the pattern.
+     */
+    public int length() {
+        return m;
+    }
+
+    /**
+     * @return    the period k of the pattern, computed as m - f[m - 1] from the failure table.
+     */
+    public int period() {
+        return k;
+    }
+
+    /**
+     * @return    the bytes of the pattern. Callers must not modify the returned array.
+     */
+    byte[] bytes() {
+        return pattern;
+    }
+
+    /**
+     * @return    the 256 entry last occurrence table. Callers must not modify the returned array.
+     */
+    int[] lastOccurrenceTable() {
+        return lot;
+    }
+
+    /**
+     * @return    the border position array f of length m + 1. Callers must not modify the returned array.
+     */
+    int[] borders() {
+        return f;
+    }
+
+    /**
+     * @return    the good suffix shift array of length m + 1. Callers must not modify the returned array.
+     */
+    int[] goodSuffixShifts() {
+        return shift;
+    }
+}
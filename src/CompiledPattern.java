@@ -0,0 +1,302 @@
+/**
+ * A pattern that has been preprocessed once so that it can be searched for in any number of texts.
+ *
+ * Building the last occurrence table, the failure table (for the period k) and the good suffix shift/border arrays
+ * costs O(m) for every call to the static search methods. A CompiledPattern performs that work a single time, and
+ * the CompiledPattern overloads in BoyerMooreBCGalil, BoyerMooreGoodSuffix and BoyerMooreComplete then only run
+ * their scan loops.
+ *
+ * Only the tables every Boyer Moore engine needs are built by compile. A table used by a single engine, such as the
+ * factor oracle of BackwardOracleMatching, is built the first time that engine asks for it and kept for later
+ * searches, so a one-shot search never pays for the preprocessing of engines it does not run.
+ *
+ * Instances are immutable, so a single CompiledPattern may be shared between threads without synchronization.
+ */
+public final class CompiledPattern {
+
+    // an immutable snapshot of the pattern, so later changes to a mutable CharSequence do not affect the tables.
+    private final String pattern;
+
+    // the characters of the pattern, read by the scan loops without going through charAt.
+    private final char[] chars;
+
+    private final int m;
+
+    // lot is the last occurrence table built for the pattern as specified by the bad character heuristic.
+    private final PrimitiveLastTable lot;
+
+    /*
+    the last occurrence table of the pattern without its final character, as used by Horspool's shift: the window
+    is moved so that the text character under the end of the pattern lines up with its last occurrence before m - 1.
+    Built on first use.
+     */
+    private volatile PrimitiveLastTable horspoolLot;
+
+    // the KMP failure table of the pattern, which gives its period and is kept for the KMP fallback of IntroSearch.
+    private final int[] failure;
+
+    // k is the "periodicity" of the pattern
+    private final int k;
+
+    // the number of distinct characters in the pattern, and whether all of them are ASCII or Latin-1.
+    private final int distinct;
+    private final boolean latin1;
+
+    /*
+    the border position array f and the good suffix shift array as built by GoodSuffixPreprocessing. Both arrays
+    are of length m + 1. See BoyerMooreGoodSuffix for more details.
+     */
+    private final int[] f;
+    private final int[] shift;
+
+    // the bit masks of the pattern for ShiftOr and BNDM, built on first use. Always null above 64 characters.
+    private volatile PrimitiveMaskTable masks;
+
+    // the factor oracle of the reversed pattern for BackwardOracleMatching, built on first use.
+    private volatile FactorOracle oracle;
+
+    /*
+    the critical factorization of the pattern for TwoWay, packed as by TwoWay.criticalFactorization: the critical
+    position in the high 32 bits and the period of the right part in the low 32 bits. The period is at least 1, so 0
+    means the factorization has not been computed yet. Built on first use.
+     */
+    private volatile long factorization;
+
+    /*
+    suff[i] is the length of the longest suffix of the pattern ending at index i, for ApostolicoGiancarlo. See
+    GoodSuffixPreprocessing. Built on first use.
+     */
+    private volatile int[] suff;
+
+    /*
+    the pattern reversed and compiled, whose tables are the mirrored tables used by ReverseSearch. It is only built
+    when a reverse search first asks for it. Two threads racing to build it build equal copies, so the field needs no
+    lock, only volatile to publish the copy safely. The other tables built on first use follow the same rule.
+     */
+    private volatile CompiledPattern mirror;
+
+    /**
+     * Runs all of the preprocessing for the given pattern.
+     *
+     * @param pattern    the pattern to preprocess.
+     */
+    private CompiledPattern(CharSequence pattern) {
+        this.pattern = pattern.toString();
+        this.chars = this.pattern.toCharArray();
+        this.m = chars.length;
+        this.lot = PrimitiveLastTable.build(this.pattern);
+
+        // a character is counted once, at its last occurrence.
+        int count = 0;
+        char max = 0;
+        for (int i = 0; i < m; i++) {
+            if (lot.get(chars[i]) == i) {
+                count++;
+            }
+            max = (char) Math.max(max, chars[i]);
+        }
+        this.distinct = count;
+        this.latin1 = max < 256;
+
+        /*
+        The preprocessing comparisons are not part of any search, so they are made with exact equality rather than
+        through a comparator supplied by the caller.
+         */
+        this.failure = FailureTable.buildFailureTable(this.pattern, CharMatcher.EXACT);
+        this.k = m - failure[m - 1];
+
+        this.f = new int[m + 1];
+        this.shift = new int[m + 1];
+        GoodSuffixPreprocessing.preprocessStrongSuffix(shift, f, this.pattern, CharMatcher.EXACT);
+        GoodSuffixPreprocessing.preprocessCase2(shift, f, this.pattern);
+    }
+
+    /**
+     * Preprocesses a pattern for repeated searching.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @return    a compiled, immutable form of the pattern.
+     * @throws java.lang.IllegalArgumentException    if the pattern is null.
+     * @throws java.lang.IllegalArgumentException    if the pattern has length 0.
+     */
+    public static CompiledPattern compile(CharSequence pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("Your pattern cannot be a null value. Please pass in a valid pattern"
+                    + " parameter argument.");
+        }
+        if (pattern.length() == 0) {
+            throw new IllegalArgumentException("Your pattern cannot be of length 0. Please call this method with"
+                    + " a non-zero length pattern");
+        }
+        return new CompiledPattern(pattern);
+    }
+
+    /**
+     * @return    the pattern this object was compiled from.
+     */
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * @return    the length m of the pattern.
+     */
+    public int length() {
+        return m;
+    }
+
+    /**
+     * @return    the period k of the pattern, computed as m - f[m - 1] from the failure table.
+     */
+    public int period() {
+        return k;
+    }
+
+    /**
+     * @return    the number of distinct characters in the pattern.
+     */
+    public int distinctCharacters() {
+        return distinct;
+    }
+
+    /**
+     * @return    true if every character of the pattern is ASCII or Latin-1 (below 0x100).
+     */
+    public boolean isLatin1() {
+        return latin1;
+    }
+
+    /**
+     * @return    the characters of the pattern. Callers must not modify the returned array.
+     */
+    char[] chars() {
+        return chars;
+    }
+
+    /**
+     * Returns the reversed pattern, compiled. Its last occurrence table is the first occurrence table of this
+     * pattern mirrored (m - 1 - first occurrence), its good suffix shifts are the mirrored "good prefix" shifts, and
+     * its period is the period of this pattern.
+     *
+     * @return    the compiled reversed pattern, built on the first call.
+     */
+    CompiledPattern mirror() {
+        CompiledPattern result = mirror;
+        if (result == null) {
+            // reversed char by char: StringBuilder.reverse would keep surrogate pairs in order.
+            char[] reversed = new char[m];
+            for (int i = 0; i < m; i++) {
+                reversed[i] = chars[m - 1 - i];
+            }
+            result = new CompiledPattern(new String(reversed));
+            mirror = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return    the last occurrence table of the pattern.
+     */
+    PrimitiveLastTable lastOccurrenceTable() {
+        return lot;
+    }
+
+    /**
+     * @return    the last occurrence table of the pattern without its final character, built on the first call.
+     */
+    PrimitiveLastTable horspoolTable() {
+        PrimitiveLastTable result = horspoolLot;
+        if (result == null) {
+            result = PrimitiveLastTable.build(pattern.substring(0, m - 1));
+            horspoolLot = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return    the border position array f of length m + 1. Callers must not modify the returned array.
+     */
+    int[] borders() {
+        return f;
+    }
+
+    /**
+     * @return    the KMP failure table of length m. Callers must not modify the returned array.
+     */
+    int[] failureTable() {
+        return failure;
+    }
+
+    /**
+     * @return    the good suffix shift array of length m + 1. Callers must not modify the returned array.
+     */
+    int[] goodSuffixShifts() {
+        return shift;
+    }
+
+    /**
+     * @return    the bit masks of the pattern, built on the first call, or null if the pattern is longer than 64
+     *            characters.
+     */
+    PrimitiveMaskTable masks() {
+        if (m > PrimitiveMaskTable.MAX_LENGTH) {
+            return null;
+        }
+        PrimitiveMaskTable result = masks;
+        if (result == null) {
+            result = PrimitiveMaskTable.build(pattern);
+            masks = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return    the factor oracle of the reversed pattern, built on the first call.
+     */
+    FactorOracle factorOracle() {
+        FactorOracle result = oracle;
+        if (result == null) {
+            result = new FactorOracle(chars);
+            oracle = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return    the critical position ell of the pattern, between -1 and m - 1.
+     */
+    int criticalPosition() {
+        return (int) (criticalFactorization() >> 32);
+    }
+
+    /**
+     * @return    the period of the right part p[ell + 1, m - 1] of the critical factorization.
+     */
+    int criticalPeriod() {
+        return (int) criticalFactorization();
+    }
+
+    /**
+     * @return    the packed critical factorization of the pattern, computed on the first call.
+     */
+    private long criticalFactorization() {
+        long result = factorization;
+        if (result == 0) {
+            result = TwoWay.criticalFactorization(pattern);
+            factorization = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return    the suffix table of length m, built on the first call. Callers must not modify the returned array.
+     */
+    int[] suffixes() {
+        int[] result = suff;
+        if (result == null) {
+            result = GoodSuffixPreprocessing.buildSuffixTable(pattern, CharMatcher.EXACT);
+            suff = result;
+        }
+        return result;
+    }
+}
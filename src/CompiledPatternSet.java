@@ -0,0 +1,261 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A set of patterns preprocessed once for the Wu-Manber multi-pattern search in WuManber.
+ *
+ * Wu-Manber generalizes the bad character rule from single characters to blocks of B characters. Every pattern is
+ * truncated to the length mMin of the shortest pattern, and the shift table records, for the hash of every block, how
+ * far a window of mMin text characters ending in that block may safely be moved to the right: mMin - q for the
+ * rightmost block of any truncated pattern ending at position q, or mMin - B + 1 if the block appears in no pattern.
+ * Blocks whose shift is 0 end some pattern's truncated prefix; for those the patterns ending in that block are kept in
+ * a bucket, together with a hash of their first B characters so that most candidates are rejected without comparing
+ * them.
+ *
+ * As suggested by Wu and Manber, B is the smallest block size for which the number of possible blocks, c^B over the c
+ * distinct characters of the patterns, is at least twice the number of blocks taken from the patterns. The table size
+ * grows in the same way, so that most blocks of the text still get a positive shift as the set grows into tens of
+ * thousands of patterns.
+ *
+ * Instances are immutable, so a single CompiledPatternSet may be shared between threads without synchronization.
+ */
+public final class CompiledPatternSet {
+
+    // the largest shift table built, in entries.
+    private static final int MAX_TABLE_SIZE = 1 << 20;
+
+    // the patterns, indexed by pattern id.
+    private final char[][] patterns;
+
+    // mMin is the length of the shortest pattern; b is the block size B.
+    private final int mMin;
+    private final int b;
+
+    // the shift table, indexed by the hash of a block masked with mask.
+    private final int[] shift;
+    private final int mask;
+
+    /*
+    The buckets of the blocks with a shift of 0, in compressed form: the ids of the patterns whose truncated prefix
+    ends in a block hashing to h are bucketIds[bucketStart[h], bucketStart[h + 1]), in ascending order, and
+    bucketPrefixes holds the hash of the first B characters of each of them.
+     */
+    private final int[] bucketStart;
+    private final int[] bucketIds;
+    private final int[] bucketPrefixes;
+
+    /**
+     * Runs all of the preprocessing for the given patterns.
+     *
+     * @param patterns    the characters of the patterns, indexed by pattern id.
+     */
+    private CompiledPatternSet(char[][] patterns) {
+        this.patterns = patterns;
+
+        int min = Integer.MAX_VALUE;
+        for (char[] pattern : patterns) {
+            min = Math.min(min, pattern.length);
+        }
+        this.mMin = min;
+
+        // c is the number of distinct characters in the patterns.
+        boolean[] seen = new boolean[Character.MAX_VALUE + 1];
+        int c = 0;
+        for (char[] pattern : patterns) {
+            for (char ch : pattern) {
+                if (!seen[ch]) {
+                    seen[ch] = true;
+                    c++;
+                }
+            }
+        }
+        long target = 2L * patterns.length * mMin;
+        int blockSize = 1;
+        for (long combinations = c; blockSize < mMin && combinations < target; blockSize++) {
+            combinations *= c;
+        }
+        this.b = blockSize;
+
+        // aim for a table at least twice as large as the number of blocks inserted into it.
+        long blocks = (long) patterns.length * (mMin - b + 1);
+        int size = 256;
+        while (size < MAX_TABLE_SIZE && size < 2 * blocks) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+
+        this.shift = new int[size];
+        Arrays.fill(shift, mMin - b + 1);
+        int[] counts = new int[size + 1];
+        for (char[] pattern : patterns) {
+            // q is the index one past the end of the block within the truncated pattern.
+            for (int q = b; q <= mMin; q++) {
+                int h = hash(pattern, q - b, b) & mask;
+                shift[h] = Math.min(shift[h], mMin - q);
+            }
+            counts[(hash(pattern, mMin - b, b) & mask) + 1]++;
+        }
+
+        this.bucketStart = new int[size + 1];
+        for (int h = 0; h < size; h++) {
+            bucketStart[h + 1] = bucketStart[h] + counts[h + 1];
+        }
+        this.bucketIds = new int[patterns.length];
+        this.bucketPrefixes = new int[patterns.length];
+        int[] next = Arrays.copyOf(bucketStart, size);
+        for (int id = 0; id < patterns.length; id++) {
+            int slot = next[hash(patterns[id], mMin - b, b) & mask]++;
+            bucketIds[slot] = id;
+            bucketPrefixes[slot] = hash(patterns[id], 0, b);
+        }
+    }
+
+    /**
+     * Preprocesses a set of patterns for repeated searching. The id of each pattern is its index in the array.
+     *
+     * @param patterns    the patterns a user is searching for in a body of text (the needles).
+     * @return    a compiled, immutable form of the pattern set.
+     * @throws java.lang.IllegalArgumentException    if the array or any pattern in it is null.
+     * @throws java.lang.IllegalArgumentException    if the array or any pattern in it has length 0.
+     */
+    public static CompiledPatternSet compile(CharSequence... patterns) {
+        if (patterns == null) {
+            throw new IllegalArgumentException("Your patterns cannot be a null value. Please pass in a valid"
+                    + " patterns parameter argument.");
+        }
+        return compile(Arrays.asList(patterns));
+    }
+
+    /**
+     * Preprocesses a set of patterns for repeated searching. The id of each pattern is its index in the list.
+     *
+     * @param patterns    the patterns a user is searching for in a body of text (the needles).
+     * @return    a compiled, immutable form of the pattern set.
+     * @throws java.lang.IllegalArgumentException    if the list or any pattern in it is null.
+     * @throws java.lang.IllegalArgumentException    if the list or any pattern in it has length 0.
+     */
+    public static CompiledPatternSet compile(List<? extends CharSequence> patterns) {
+        if (patterns == null) {
+            throw new IllegalArgumentException("Your patterns cannot be a null value. Please pass in a valid"
+                    + " patterns parameter argument.");
+        }
+        if (patterns.isEmpty()) {
+            throw new IllegalArgumentException("Your set of patterns cannot be empty. Please call this method with"
+                    + " at least one pattern");
+        }
+        char[][] chars = new char[patterns.size()][];
+        for (int id = 0; id < chars.length; id++) {
+            CharSequence pattern = patterns.get(id);
+            if (pattern == null) {
+                throw new IllegalArgumentException("Your pattern cannot be a null value. Please pass in a valid"
+                        + " pattern parameter argument.");
+            }
+            if (pattern.length() == 0) {
+                throw new IllegalArgumentException("Your pattern cannot be of length 0. Please call this method with"
+                        + " a non-zero length pattern");
+            }
+            chars[id] = pattern.toString().toCharArray();
+        }
+        return new CompiledPatternSet(chars);
+    }
+
+    /**
+     * Hashes a block of characters of a pattern.
+     *
+     * @param chars    the pattern.
+     * @param from    the index of the first character of the block.
+     * @param length    the number of characters in the block.
+     * @return    the hash of the block, before masking.
+     */
+    private static int hash(char[] chars, int from, int length) {
+        int h = 0;
+        for (int i = from; i < from + length; i++) {
+            h = h * 31 + chars[i];
+        }
+        return mix(h);
+    }
+
+    /**
+     * Spreads the bits of a block hash so that similar blocks do not collide in the low bits.
+     *
+     * @param h    the polynomial hash of a block.
+     * @return    the mixed hash.
+     */
+    static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @return    the number of patterns in the set.
+     */
+    public int size() {
+        return patterns.length;
+    }
+
+    /**
+     * @param id    the id of a pattern.
+     * @return    the pattern with the given id.
+     * @throws java.lang.IndexOutOfBoundsException    if id is not in [0, size()).
+     */
+    public String pattern(int id) {
+        return new String(patterns[id]);
+    }
+
+    /**
+     * @return    the patterns, indexed by id. Callers must not modify the returned arrays.
+     */
+    char[][] patterns() {
+        return patterns;
+    }
+
+    /**
+     * @return    the length of the shortest pattern.
+     */
+    int minLength() {
+        return mMin;
+    }
+
+    /**
+     * @return    the block size B.
+     */
+    int blockSize() {
+        return b;
+    }
+
+    /**
+     * @return    the mask applied to block hashes.
+     */
+    int mask() {
+        return mask;
+    }
+
+    /**
+     * @return    the block shift table. Callers must not modify the returned array.
+     */
+    int[] shiftTable() {
+        return shift;
+    }
+
+    /**
+     * @return    the start of each bucket in bucketIds, of length mask + 2. Callers must not modify the returned array.
+     */
+    int[] bucketStart() {
+        return bucketStart;
+    }
+
+    /**
+     * @return    the pattern ids of every bucket. Callers must not modify the returned array.
+     */
+    int[] bucketIds() {
+        return bucketIds;
+    }
+
+    /**
+     * @return    the hash of the first B characters of each pattern in bucketIds. Callers must not modify the
+     *            returned array.
+     */
+    int[] bucketPrefixes() {
+        return bucketPrefixes;
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Where a limited search stopped, so that the next page of matches can be fetched without scanning the text from
+ * the start again.
+ *
+ * A continuation holds the shift the scan would have tried next and Galil's l at that shift: the number of leading
+ * elements of the pattern already known to match the text there. It is only meaningful for the compiled pattern,
+ * text and engine that produced it. Resuming with another engine is not supported, since the good suffix engine does
+ * not carry Galil's l and BoyerMooreComplete only applies it to patterns with a period above 1.
+ *
+ * Instances are immutable.
+ */
+public final class Continuation {
+
+    // the continuation of a search that has not started yet.
+    public static final Continuation START = new Continuation(0, 0);
+
+    // the shift at which the scan resumes.
+    private final int shift;
+
+    // Galil's l at that shift.
+    private final int l;
+
+    /**
+     * Creates a continuation.
+     *
+     * @param shift    the shift at which the scan resumes.
+     * @param l    Galil's l at that shift.
+     */
+    Continuation(int shift, int l) {
+        this.shift = shift;
+        this.l = l;
+    }
+
+    /**
+     * Returns the index of the text at which the next scan starts. Every match starting before it has already been
+     * reported.
+     *
+     * @return    the shift at which the scan resumes.
+     */
+    public int shift() {
+        return shift;
+    }
+
+    /**
+     * Creates a fresh scan state positioned at this continuation.
+     *
+     * @return    a state holding the shift and Galil's l of this continuation.
+     */
+    ScanState toState() {
+        ScanState state = new ScanState();
+        state.shift = shift;
+        state.l = l;
+        return state;
+    }
+}
@@ -0,0 +1,84 @@
+import java.util.Arrays;
+
+/**
+ * The factor oracle of the reversed pattern, as used by BackwardOracleMatching.
+ *
+ * The factor oracle of a word x of length m is an automaton with the states 0 to m, all of them final, that
+ * recognizes at least every factor of x in O(m) states and at most 2m - 1 transitions. Every transition goes to a
+ * later state, so the only word of length m it recognizes is x itself. The oracle is built online: appending the
+ * character a to x[0, i - 1] adds the internal transition i - 1 -&gt; i on a, and then an external transition to i
+ * on a from every state on the supply path of i - 1 that does not yet have a transition on a.
+ *
+ * No object is created per state or per transition. The internal transition of state i is implied by the reversed
+ * pattern itself, and the at most m - 1 external transitions are stored in flat arrays as one linked list per state:
+ * first[q] is the first transition of q, and next, labels and targets describe each transition.
+ *
+ * Instances are immutable once built.
+ */
+final class FactorOracle {
+
+    // the word the oracle is built for: the pattern reversed. Its character i labels the transition i -> i + 1.
+    private final char[] word;
+
+    // the external transitions, as a linked list per state. first[q] and next[t] are -1 at the end of a list.
+    private final int[] first;
+    private final int[] next;
+    private final char[] labels;
+    private final int[] targets;
+
+    /**
+     * Builds the factor oracle of the reversed pattern.
+     *
+     * @param pattern    the characters of a non-empty pattern.
+     */
+    FactorOracle(char[] pattern) {
+        int m = pattern.length;
+        word = new char[m];
+        for (int i = 0; i < m; i++) {
+            word[i] = pattern[m - 1 - i];
+        }
+
+        first = new int[m + 1];
+        Arrays.fill(first, -1);
+        // an oracle has at most 2m - 1 transitions, m of which are internal.
+        next = new int[Math.max(m - 1, 0)];
+        labels = new char[next.length];
+        targets = new int[next.length];
+        int transitions = 0;
+
+        // supply[i] is the supply state of state i, the state reached by the longest repeated suffix of word[0, i).
+        int[] supply = new int[m + 1];
+        supply[0] = -1;
+        for (int i = 1; i <= m; i++) {
+            char a = word[i - 1];
+            int k = supply[i - 1];
+            while (k > -1 && transition(k, a) < 0) {
+                next[transitions] = first[k];
+                labels[transitions] = a;
+                targets[transitions] = i;
+                first[k] = transitions++;
+                k = supply[k];
+            }
+            supply[i] = k == -1 ? 0 : transition(k, a);
+        }
+    }
+
+    /**
+     * Follows a transition of the oracle.
+     *
+     * @param state    a state of the oracle, from 0 to m.
+     * @param c    the character to read.
+     * @return    the state reached by reading c from state, or -1 if there is no such transition.
+     */
+    int transition(int state, char c) {
+        if (state < word.length && word[state] == c) {
+            return state + 1;
+        }
+        for (int t = first[state]; t >= 0; t = next[t]) {
+            if (labels[t] == c) {
+                return targets[t];
+            }
+        }
+        return -1;
+    }
+}
@@ -41,6 +41,17 @@ public class FailureTable {
                     + " comparator");
         }
 
+        return buildFailureTable(pattern, CharMatcher.counting(comparator));
+    }
+
+    /**
+     * Builds the failure table, comparing characters through a CharMatcher rather than a CharacterComparator.
+     *
+     * @param pattern    a non-empty pattern you're building a failure table for
+     * @param matcher    used to check if two characters are equal
+     * @return integer array holding your failure table
+     */
+    static int[] buildFailureTable(CharSequence pattern, CharMatcher matcher) {
         int m = pattern.length();
 
         int[] ftable = new int[m];
@@ -50,9 +61,43 @@ public class FailureTable {
         int j = 1;
 
         while (j < pattern.length()) {
-            int comparison = comparator.compare(pattern.charAt(i), pattern.charAt(j));
             // If the two characters are equal
-            if (comparison == 0) {
+            if (matcher.eq(pattern.charAt(i), pattern.charAt(j))) {
+                ftable[j] = i + 1;
+                i++;
+                j++;
+            } else if (i == 0) {
+                ftable[j] = 0;
+                j++;
+            } else {
+                i = ftable[i - 1];
+            }
+        }
+        return ftable;
+    }
+
+    /**
+     * Builds the failure table of a byte pattern. Bytes are compared with ==.
+     *
+     * If the pattern is empty, return an empty array.
+     *
+     * @param pattern    a pattern you're building a failure table for
+     * @return integer array holding your failure table
+     * @throws java.lang.IllegalArgumentException if the pattern is null
+     */
+    public static int[] buildFailureTable(byte[] pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("Your pattern cannot be a null value. Please pass in a valid pattern"
+                    + " parameter argument.");
+        }
+        int m = pattern.length;
+        int[] ftable = new int[m];
+
+        int i = 0;
+        int j = 1;
+
+        while (j < m) {
+            if (pattern[i] == pattern[j]) {
                 ftable[j] = i + 1;
                 i++;
                 j++;
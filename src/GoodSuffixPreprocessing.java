@@ -28,6 +28,19 @@ public class GoodSuffixPreprocessing {
             throw new IllegalArgumentException("Your comparator cannot be null. Please try again with a "
                     + " non-null comparator parameter.");
         }
+        preprocessStrongSuffix(shift, f, pattern, CharMatcher.counting(comparator));
+    }
+
+    /**
+     * The strong good suffix preprocessing, comparing characters through a CharMatcher rather than a
+     * CharacterComparator.
+     *
+     * @param shift    the shift array of size m + 1.
+     * @param f    the border array of size m + 1.
+     * @param pattern    a pattern that we are preprocessing a shift table for.
+     * @param matcher    used to check if two characters of the pattern are equal.
+     */
+    static void preprocessStrongSuffix(int[] shift, int[] f, CharSequence pattern, CharMatcher matcher) {
         int m = pattern.length();
         // Much like how the Boyer-Moore search algorithm moves right to left, so will our preprocessing
         int i = m;
@@ -43,7 +56,7 @@ public class GoodSuffixPreprocessing {
             2. Recall that when pat[i - 1] != pat[j - 1] we shift the pattern from i to j. After an additional check
             (explained below) the code within this while loop computes this logic.
              */
-            while (j <= m && comparator.compare(pattern.charAt(i - 1), pattern.charAt(j - 1)) != 0) {
+            while (j <= m && !matcher.eq(pattern.charAt(i - 1), pattern.charAt(j - 1))) {
                 // Ensuring that the shift computed for element i is the nearest mismatch
                 if (shift[j] == 0) {
                     /*
@@ -107,6 +120,109 @@ public class GoodSuffixPreprocessing {
             throw new IllegalArgumentException("Your border array has to be equal to the length of the pattern + 1."
                     + " Please pass in an appropriately sized border array.");
         }
+        preprocessCase2(shift, f, m);
+    }
+
+    /**
+     * The strong good suffix preprocessing for a byte pattern. Bytes are compared with ==.
+     *
+     * @param shift    the shift array of size m + 1, with every entry set to zero.
+     * @param f    the border array of size m + 1.
+     * @param pattern    a pattern that we are preprocessing a shift table for.
+     * @throws java.lang.IllegalArgumentException    if the pattern is null.
+     */
+    public static void preprocessStrongSuffix(int[] shift, int[] f, byte[] pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("Your pattern cannot be a null value. Please pass in a valid pattern"
+                    + " parameter argument.");
+        }
+        int m = pattern.length;
+        int i = m;
+        int j = m + 1;
+        f[i] = j;
+
+        while (i > 0) {
+            while (j <= m && pattern[i - 1] != pattern[j - 1]) {
+                if (shift[j] == 0) {
+                    shift[j] = j - i;
+                }
+                j = f[j];
+            }
+            i--;
+            j--;
+            f[i] = j;
+        }
+    }
+
+    /**
+     * The case 2 preprocessing for a byte pattern. See preprocessCase2 above.
+     *
+     * @param shift    The same shift array used in the strong good suffix preprocessing.
+     * @param f    The same border array used in the strong good suffix preprocessing.
+     * @param pattern    a pattern that we are preprocessing a shift table for (same as above).
+     * @throws IllegalArgumentException    if the pattern or either array is null, or the arrays are not of length m + 1
+     */
+    public static void preprocessCase2(int[] shift, int[] f, byte[] pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("Your pattern cannot be a null value. Please pass in a valid pattern"
+                    + " parameter argument.");
+        }
+        if (shift == null || shift.length != pattern.length + 1) {
+            throw new IllegalArgumentException("Your shift array has to be equal to the length of the pattern + 1."
+                    + " Please pass in an appropriately sized shift array.");
+        }
+        if (f == null || f.length != pattern.length + 1) {
+            throw new IllegalArgumentException("Your border array has to be equal to the length of the pattern + 1."
+                    + " Please pass in an appropriately sized border array.");
+        }
+        preprocessCase2(shift, f, pattern.length);
+    }
+
+    /**
+     * Builds the suffix table of a pattern: suff[i] is the length of the longest suffix of the pattern that also ends
+     * at index i. It is the table the good suffix shifts are derived from, and Apostolico-Giancarlo uses it directly
+     * to compare a remembered match in the text against the pattern without reading either of them.
+     *
+     * The table is built in O(m) by reusing, like the Z algorithm, the rightmost suffix match g found so far.
+     *
+     * @param pattern    a pattern that we are preprocessing a suffix table for.
+     * @param matcher    used to check if two characters of the pattern are equal.
+     * @return    the suffix table of the pattern, of length m.
+     */
+    static int[] buildSuffixTable(CharSequence pattern, CharMatcher matcher) {
+        int m = pattern.length();
+        int[] suff = new int[m];
+        suff[m - 1] = m;
+
+        // [g + 1, f] is the rightmost factor found so far that is also a suffix of the pattern.
+        int g = m - 1;
+        int f = m - 1;
+        for (int i = m - 2; i >= 0; i--) {
+            if (i > g && suff[i + m - 1 - f] < i - g) {
+                // the answer lies strictly inside the known factor, so it is the same as at the mirrored index.
+                suff[i] = suff[i + m - 1 - f];
+            } else {
+                if (i < g) {
+                    g = i;
+                }
+                f = i;
+                while (g >= 0 && matcher.eq(pattern.charAt(g), pattern.charAt(g + m - 1 - f))) {
+                    g--;
+                }
+                suff[i] = f - g;
+            }
+        }
+        return suff;
+    }
+
+    /**
+     * The case 2 preprocessing shared by the char and byte patterns. It only depends on the border array.
+     *
+     * @param shift    The same shift array used in the strong good suffix preprocessing.
+     * @param f    The same border array used in the strong good suffix preprocessing.
+     * @param m    the length of the pattern.
+     */
+    private static void preprocessCase2(int[] shift, int[] f, int m) {
         // f[0] is the widest-border from the starting position
         int j = f[0];
 
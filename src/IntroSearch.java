@@ -0,0 +1,213 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * An introspective search: the bad character + Galil loop of BoyerMooreBCGalil, watched by a comparison budget, that
+ * falls back to Knuth-Morris-Pratt when the budget runs out.
+ *
+ * On most texts the bad character rule compares less than one character per text character, but an adversarial text
+ * can make it compare O(m) characters at almost every shift, for O(nm) in total. IntroSearch counts the comparisons
+ * of the Boyer Moore loop and, once they exceed BUDGET_FACTOR times the length of text the window has reached, it
+ * switches to KMP for the rest of the text, which never compares more than 2n characters.
+ *
+ * The switch happens between two attempts, at the shift i the Boyer Moore loop would have tried next. Every shift
+ * before i has been checked, so KMP starts at i and no match is lost or reported twice. If Galil's rule had already
+ * established that p[0, l - 1] matches the text at i, KMP starts in state l rather than 0 and does not compare those
+ * characters again.
+ *
+ * The results are identical to those of BoyerMooreBCGalil.
+ */
+public class IntroSearch {
+
+    /*
+    the Boyer Moore loop may compare up to this many characters per text character reached before the search
+    switches to KMP.
+     */
+    static final int BUDGET_FACTOR = 3;
+
+    /**
+     * Searches the text for a pattern, counting comparisons with the comparator.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the pattern, text, or comparator is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static List<Integer> introSearch(CharSequence pattern, CharSequence text, CharacterComparator comparator) {
+        return introSearch(CompiledPattern.compile(pattern), text, comparator);
+    }
+
+    /**
+     * Searches the text for a compiled pattern, counting comparisons with the comparator.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or comparator is null.
+     */
+    public static List<Integer> introSearch(CompiledPattern compiled, CharSequence text,
+                                            CharacterComparator comparator) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        introSearch(compiled, text, comparator, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a compiled pattern, counting comparisons with the comparator and reporting the starting
+     * index of each match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, comparator, or sink is null.
+     */
+    public static void introSearch(CompiledPattern compiled, CharSequence text, CharacterComparator comparator,
+                                   IntConsumer sink) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Your comparator cannot be null. Please try again with a "
+                    + " non-null comparator parameter.");
+        }
+        checkArguments(compiled, text, sink);
+        introSearch(compiled, text, CharMatcher.counting(comparator), sink);
+    }
+
+    /**
+     * Searches the text for a compiled pattern without counting comparisons.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static List<Integer> introSearch(CompiledPattern compiled, CharSequence text) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        introSearch(compiled, text, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a compiled pattern without counting comparisons, reporting the starting index of each
+     * match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     */
+    public static void introSearch(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        checkArguments(compiled, text, sink);
+        introSearch(compiled, text, CharMatcher.EXACT, sink);
+    }
+
+    /**
+     * Checks the arguments shared by every public overload.
+     *
+     * @param compiled    the compiled pattern.
+     * @param text    the text.
+     * @param sink    the sink receiving matches.
+     * @throws java.lang.IllegalArgumentException   if any argument is null.
+     */
+    private static void checkArguments(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+    }
+
+    /**
+     * The scan loop shared by every overload above. The arguments must already have been checked.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @return    true if the search ran out of budget and finished with KMP.
+     */
+    static boolean introSearch(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+        char[] pattern = compiled.chars();
+        int n = text.length();
+        int m = compiled.length();
+        PrimitiveLastTable lot = compiled.lastOccurrenceTable();
+        int k = compiled.period();
+
+        // comparisons counts the characters compared by the Boyer Moore loop, as a long so it cannot overflow.
+        long comparisons = 0;
+
+        // i is the shift of the pattern with respect to the text, and l is Galil's l as in BoyerMooreBCGalil.
+        int i = 0;
+        int l = 0;
+        while (i <= n - m) {
+            if (comparisons > BUDGET_FACTOR * ((long) i + m)) {
+                knuthMorrisPratt(compiled, text, i, l, matcher, sink);
+                return true;
+            }
+            int j = m - 1;
+            while (j >= l && matcher.eq(pattern[j], text.charAt(i + j))) {
+                j--;
+            }
+            // the loop above compared m - 1 - j characters, plus the mismatch at j if there was one.
+            comparisons += j < l ? m - l : m - j;
+            if (j < l) {
+                sink.accept(i);
+                l = m - k;
+                i += k;
+            } else {
+                l = 0;
+                int shift = lot.get(text.charAt(i + j));
+                i += shift < j ? j - shift : 1;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finishes a search with Knuth-Morris-Pratt.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param from    the first shift that has not been checked yet.
+     * @param known    the length of the prefix of the pattern already known to match the text at from.
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     */
+    private static void knuthMorrisPratt(CompiledPattern compiled, CharSequence text, int from, int known,
+                                         CharMatcher matcher, IntConsumer sink) {
+        char[] pattern = compiled.chars();
+        int n = text.length();
+        int m = compiled.length();
+        int[] failure = compiled.failureTable();
+
+        // q is the length of the prefix of the pattern matching the text that ends just before index x.
+        int q = known;
+        int x = from + known;
+        while (x < n) {
+            if (matcher.eq(pattern[q], text.charAt(x))) {
+                q++;
+                x++;
+                if (q == m) {
+                    sink.accept(x - m);
+                    q = failure[m - 1];
+                }
+            } else if (q > 0) {
+                q = failure[q - 1];
+            } else {
+                x++;
+            }
+        }
+    }
+}
@@ -1,3 +1,4 @@
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -9,6 +10,8 @@ public class LastOccurrenceTable {
      *
      * If the pattern is empty an empty map will be returned.
      *
+     * The search algorithms themselves use PrimitiveLastTable, which answers the same lookups without boxing.
+     *
      * @param pattern    a pattern that the last occurrence table is built for.
      * @return  a Map with keys of all the characters in the pattern mapping to their occurrence in the pattern.
      * @throws java.lang.IllegalArgumentException if the pattern is null
@@ -27,4 +30,25 @@ public class LastOccurrenceTable {
         }
         return lot;
     }
+
+    /**
+     * Builds a last occurrence table for a byte pattern. Every byte value has its own entry, so the table is a dense
+     * array of length 256 indexed by the unsigned value of a byte, i.e. (b &amp; 0xFF).
+     *
+     * @param pattern    a pattern that the last occurrence table is built for.
+     * @return  an array holding the last occurrence of every byte value in the pattern, or -1 for absent bytes.
+     * @throws java.lang.IllegalArgumentException if the pattern is null
+     */
+    public static int[] buildByteTable(byte[] pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("Your pattern cannot be a null value. Please pass in a valid pattern"
+                    + " parameter argument");
+        }
+        int[] lot = new int[256];
+        Arrays.fill(lot, -1);
+        for (int i = 0; i < pattern.length; i++) {
+            lot[pattern[i] & 0xFF] = i;
+        }
+        return lot;
+    }
 }
@@ -0,0 +1,82 @@
+import java.nio.ByteBuffer;
+
+/**
+ * A text of bytes indexed by long, so that texts longer than the 2^31 - 1 bytes of an array or a ByteBuffer can be
+ * searched with LongSearch.
+ *
+ * A long text is usually held in segments: several byte arrays, or several buffers mapped from the same file, that
+ * together make up the text. The factory methods below wrap such segments. Implementations should make byteAt cheap,
+ * since the scan loops call it for every comparison.
+ */
+public interface LongByteSource {
+
+    /**
+     * Returns the length of the text.
+     *
+     * @return    the number of bytes in the text.
+     */
+    long length();
+
+    /**
+     * Returns a byte of the text.
+     *
+     * @param index    the index of the byte, from 0 to length() - 1.
+     * @return    the byte at that index.
+     * @throws java.lang.IndexOutOfBoundsException   if the index is out of bounds.
+     */
+    byte byteAt(long index);
+
+    /**
+     * Wraps consecutive byte arrays as one text. Every segment but the last must have the same length, a power of
+     * two, so that a long index is split into a segment and an offset with a shift and a mask. A single segment may
+     * have any length, and is searched with the int-indexed loops of ByteBoyerMooreBCGalil.
+     *
+     * @param segments    the segments of the text, in order. They must not be modified while they are searched.
+     * @return    a source reading the segments as one text.
+     * @throws java.lang.IllegalArgumentException   if the segments or any of them are null.
+     * @throws java.lang.IllegalArgumentException   if the segments but the last do not share a power of two length.
+     */
+    static LongByteSource of(byte[]... segments) {
+        if (segments == null) {
+            throw new IllegalArgumentException("Your segments cannot be null. Please try again with a "
+                    + " non-null array of segments.");
+        }
+        int[] lengths = new int[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            if (segments[i] == null) {
+                throw new IllegalArgumentException("Segment " + i + " cannot be null. Please try again with"
+                        + " non-null segments.");
+            }
+            lengths[i] = segments[i].length;
+        }
+        return new SegmentedByteSource(segments.clone(), Segments.bits(lengths));
+    }
+
+    /**
+     * Wraps the bytes between the position and the limit of consecutive buffers, such as the windows of a mapped
+     * file, as one text. The segments follow the same rule as those of of(byte[]...). The positions and limits of
+     * the buffers are not changed.
+     *
+     * @param segments    the segments of the text, in order. They must not be modified while they are searched.
+     * @return    a source reading the segments as one text.
+     * @throws java.lang.IllegalArgumentException   if the segments or any of them are null.
+     * @throws java.lang.IllegalArgumentException   if the segments but the last do not share a power of two length.
+     */
+    static LongByteSource of(ByteBuffer... segments) {
+        if (segments == null) {
+            throw new IllegalArgumentException("Your segments cannot be null. Please try again with a "
+                    + " non-null array of segments.");
+        }
+        ByteBuffer[] slices = new ByteBuffer[segments.length];
+        int[] lengths = new int[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            if (segments[i] == null) {
+                throw new IllegalArgumentException("Segment " + i + " cannot be null. Please try again with"
+                        + " non-null segments.");
+            }
+            slices[i] = segments[i].slice();
+            lengths[i] = slices[i].remaining();
+        }
+        return new SegmentedByteSource(slices, Segments.bits(lengths));
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * A text of chars indexed by long, so that texts longer than the 2^31 - 1 characters of a CharSequence can be
+ * searched with LongSearch.
+ *
+ * A long text is usually held in segments: several char arrays that together make up the text. The factory methods
+ * below wrap either a CharSequence or such segments. Implementations should make charAt cheap, since the scan loops
+ * call it for every comparison.
+ */
+public interface LongCharSource {
+
+    /**
+     * Returns the length of the text.
+     *
+     * @return    the number of chars in the text.
+     */
+    long length();
+
+    /**
+     * Returns a char of the text.
+     *
+     * @param index    the index of the char, from 0 to length() - 1.
+     * @return    the char at that index.
+     * @throws java.lang.IndexOutOfBoundsException   if the index is out of bounds.
+     */
+    char charAt(long index);
+
+    /**
+     * Wraps a CharSequence. It is searched with the int-indexed loops of BoyerMooreBCGalil.
+     *
+     * @param text    the text to wrap. It must not be modified while it is being searched.
+     * @return    a source reading the text.
+     * @throws java.lang.IllegalArgumentException   if the text is null.
+     */
+    static LongCharSource of(CharSequence text) {
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        return new SegmentedCharSource(text);
+    }
+
+    /**
+     * Wraps consecutive char arrays as one text. Every segment but the last must have the same length, a power of
+     * two, so that a long index is split into a segment and an offset with a shift and a mask. A single segment may
+     * have any length, and is searched with the int-indexed loops of BoyerMooreBCGalil.
+     *
+     * @param segments    the segments of the text, in order. They must not be modified while they are searched.
+     * @return    a source reading the segments as one text.
+     * @throws java.lang.IllegalArgumentException   if the segments or any of them are null.
+     * @throws java.lang.IllegalArgumentException   if the segments but the last do not share a power of two length.
+     */
+    static LongCharSource of(char[]... segments) {
+        if (segments == null) {
+            throw new IllegalArgumentException("Your segments cannot be null. Please try again with a "
+                    + " non-null array of segments.");
+        }
+        int[] lengths = new int[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            if (segments[i] == null) {
+                throw new IllegalArgumentException("Segment " + i + " cannot be null. Please try again with"
+                        + " non-null segments.");
+            }
+            lengths[i] = segments[i].length;
+        }
+        return new SegmentedCharSource(segments.clone(), Segments.bits(lengths));
+    }
+}
@@ -0,0 +1,169 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Searches texts indexed by long, such as concatenated corpora or files mapped in several buffers, that do not fit in
+ * the 2^31 - 1 elements of a CharSequence, an array or a ByteBuffer.
+ *
+ * The scan loops below are the bad character + Galil loops of BoyerMooreBCGalil and ByteBoyerMooreBCGalil with the
+ * shift of the pattern held in a long and every match reported to a LongConsumer. A source that is a single
+ * CharSequence, array or buffer can hold at most 2^31 - 1 elements, so it is searched with the int-indexed loops
+ * instead, which read the text without going through charAt or byteAt. Both paths report the same matches.
+ */
+public class LongSearch {
+
+    /**
+     * Searches a long text for a compiled pattern.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return    a list containing the starting index of each match found.
+     * @throws java.lang.IllegalArgumentException    if the compiled pattern or text is null.
+     */
+    public static List<Long> search(CompiledPattern compiled, LongCharSource text) {
+        // matches will store the starting indices of each match found
+        List<Long> matches = new ArrayList<>();
+        search(compiled, text, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches a long text for a compiled pattern, reporting each match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException    if the compiled pattern, text, or sink is null.
+     */
+    public static void search(CompiledPattern compiled, LongCharSource text, LongConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        checkArguments(text, sink);
+
+        CharSequence small = text instanceof SegmentedCharSource ? ((SegmentedCharSource) text).asCharSequence() : null;
+        if (small != null) {
+            BoyerMooreBCGalil.boyerMooreBCGalil(compiled, small, 0, small.length(), new ScanState(),
+                    CharMatcher.EXACT, sink::accept);
+            return;
+        }
+
+        char[] pattern = compiled.chars();
+        int m = compiled.length();
+        PrimitiveLastTable lot = compiled.lastOccurrenceTable();
+        int k = compiled.period();
+
+        // i is the shift of the pattern with respect to the text; last is the final valid value of i.
+        long i = 0;
+        long last = text.length() - m;
+        // l is Galil's l, as in BoyerMooreBCGalil.
+        int l = 0;
+        while (i <= last) {
+            int j = m - 1;
+            while (j >= l && pattern[j] == text.charAt(i + j)) {
+                j--;
+            }
+            if (j < l) {
+                sink.accept(i);
+                l = m - k;
+                i += k;
+            } else {
+                l = 0;
+                int shift = lot.get(text.charAt(i + j));
+                i += shift < j ? j - shift : 1;
+            }
+        }
+    }
+
+    /**
+     * Searches a long byte text for a compiled pattern.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of bytes (the needle).
+     * @param text    the body of bytes where a user searches for a pattern (the haystack).
+     * @return    a list containing the starting index of each match found.
+     * @throws java.lang.IllegalArgumentException    if the compiled pattern or text is null.
+     */
+    public static List<Long> search(CompiledBytePattern compiled, LongByteSource text) {
+        // matches will store the starting indices of each match found
+        List<Long> matches = new ArrayList<>();
+        search(compiled, text, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches a long byte text for a compiled pattern, reporting each match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of bytes (the needle).
+     * @param text    the body of bytes where a user searches for a pattern (the haystack).
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException    if the compiled pattern, text, or sink is null.
+     */
+    public static void search(CompiledBytePattern compiled, LongByteSource text, LongConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        checkArguments(text, sink);
+
+        if (text instanceof SegmentedByteSource) {
+            byte[] array = ((SegmentedByteSource) text).singleArray();
+            if (array != null) {
+                ByteBoyerMooreBCGalil.searchBytes(compiled, array, 0, array.length, new ScanState(), sink::accept);
+                return;
+            }
+            ByteBuffer buffer = ((SegmentedByteSource) text).singleBuffer();
+            if (buffer != null) {
+                ByteBoyerMooreBCGalil.searchBuffer(compiled, buffer, 0, buffer.remaining(), new ScanState(),
+                        sink::accept);
+                return;
+            }
+        }
+
+        byte[] pattern = compiled.bytes();
+        int m = compiled.length();
+        int[] lot = compiled.lastOccurrenceTable();
+        int k = compiled.period();
+
+        // i is the shift of the pattern with respect to the text; last is the final valid value of i.
+        long i = 0;
+        long last = text.length() - m;
+        // l is Galil's l, as in ByteBoyerMooreBCGalil.
+        int l = 0;
+        while (i <= last) {
+            int j = m - 1;
+            while (j >= l && pattern[j] == text.byteAt(i + j)) {
+                j--;
+            }
+            if (j < l) {
+                sink.accept(i);
+                l = m - k;
+                i += k;
+            } else {
+                l = 0;
+                int shift = lot[text.byteAt(i + j) & 0xFF];
+                i += shift < j ? j - shift : 1;
+            }
+        }
+    }
+
+    /**
+     * Checks the arguments shared by every overload.
+     *
+     * @param text    the text.
+     * @param sink    the sink receiving matches.
+     * @throws java.lang.IllegalArgumentException   if either argument is null.
+     */
+    private static void checkArguments(Object text, LongConsumer sink) {
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+    }
+}
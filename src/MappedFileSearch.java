@@ -0,0 +1,114 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Searches a file for a byte pattern by memory mapping it, so that files larger than a String or byte array can hold
+ * (2 GB and beyond) are searched without being read onto the heap.
+ *
+ * The file is mapped in windows of at most windowSize bytes and each window is scanned with the bad character +
+ * Galil loop of ByteBoyerMooreBCGalil. A window ends once the pattern no longer fits inside it, and the next window
+ * starts at the shift where that scan stopped. Since every shift before it has been checked, and the scan stops at a
+ * shift less than m from the end of the window, consecutive windows overlap by at most m - 1 bytes: a match that
+ * straddles a window boundary is found in the later window and no match is reported twice.
+ *
+ * Galil's l is carried from one window to the next: the elements it covers start at the shift where the previous
+ * scan stopped, so they are part of the next window.
+ */
+public class MappedFileSearch {
+
+    // the default size of each mapped window.
+    public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Searches a file for a compiled pattern using the default window size.
+     *
+     * @param compiled    the compiled pattern a user is searching for in the file (the needle).
+     * @param file    the file where a user searches for a pattern (the haystack).
+     * @return    a list containing the file offset of each match found.
+     * @throws java.lang.IllegalArgumentException    if the compiled pattern or file is null.
+     * @throws java.io.IOException    if the file cannot be opened, read or mapped.
+     */
+    public static List<Long> search(CompiledBytePattern compiled, Path file) throws IOException {
+        // matches will store the file offset of each match found
+        List<Long> matches = new ArrayList<>();
+        search(compiled, file, DEFAULT_WINDOW_SIZE, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches a file for a compiled pattern using the default window size, reporting each match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in the file (the needle).
+     * @param file    the file where a user searches for a pattern (the haystack).
+     * @param sink    receives the file offset of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException    if the compiled pattern, file, or sink is null.
+     * @throws java.io.IOException    if the file cannot be opened, read or mapped.
+     */
+    public static void search(CompiledBytePattern compiled, Path file, LongConsumer sink) throws IOException {
+        search(compiled, file, DEFAULT_WINDOW_SIZE, sink);
+    }
+
+    /**
+     * Searches a file for a compiled pattern, mapping at most windowSize bytes at a time.
+     *
+     * @param compiled    the compiled pattern a user is searching for in the file (the needle).
+     * @param file    the file where a user searches for a pattern (the haystack).
+     * @param windowSize    the maximum number of bytes mapped at once. Windows are enlarged to the length of the
+     *                      pattern if it is longer.
+     * @param sink    receives the file offset of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException    if the compiled pattern, file, or sink is null.
+     * @throws java.lang.IllegalArgumentException    if windowSize is not positive.
+     * @throws java.io.IOException    if the file cannot be opened, read or mapped.
+     */
+    public static void search(CompiledBytePattern compiled, Path file, int windowSize, LongConsumer sink)
+            throws IOException {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (file == null) {
+            throw new IllegalArgumentException("The file parameter cannot be null. Please try again with a "
+                    + " non-null file parameter.");
+        }
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("The window size must be positive. Please try again with a positive"
+                    + " window size.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+
+        int m = compiled.length();
+        int window = Math.max(windowSize, m);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long n = channel.size();
+
+            // start is the file offset of the first byte of the current window.
+            long start = 0;
+            ScanState state = new ScanState();
+            while (n - start >= m) {
+                int length = (int) Math.min(window, n - start);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+
+                long base = start;
+                ByteBoyerMooreBCGalil.searchBuffer(compiled, buffer, 0, length, state,
+                        offset -> sink.accept(base + offset));
+
+                if (start + length == n) {
+                    break;
+                }
+                // state.shift > length - m, so the next window overlaps this one by at most m - 1 bytes.
+                start += state.shift;
+                state.rebase(state.shift);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A growable int array that collects the starting indices of matches without boxing them.
+ *
+ * A MatchBuffer is meant to be reused: call clear() between searches and the backing array, once it has grown large
+ * enough, is kept. Repeated searches into the same buffer therefore allocate nothing.
+ *
+ * A MatchBuffer is not thread-safe.
+ */
+public final class MatchBuffer implements IntConsumer {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] offsets;
+    private int size;
+
+    /**
+     * Creates an empty buffer with a default initial capacity.
+     */
+    public MatchBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty buffer.
+     *
+     * @param initialCapacity    the number of matches the buffer can hold before it has to grow.
+     * @throws java.lang.IllegalArgumentException    if the initial capacity is negative.
+     */
+    public MatchBuffer(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The initial capacity cannot be negative. Please pass in a"
+                    + " non-negative capacity.");
+        }
+        offsets = new int[initialCapacity];
+    }
+
+    /**
+     * Appends the starting index of a match.
+     *
+     * @param offset    the starting index of the match.
+     */
+    @Override
+    public void accept(int offset) {
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, Math.max(DEFAULT_CAPACITY, size + (size >> 1)));
+        }
+        offsets[size++] = offset;
+    }
+
+    /**
+     * @return    the number of matches in the buffer.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the starting index of a match.
+     *
+     * @param index    the position of the match in the buffer.
+     * @return    the starting index of the match.
+     * @throws java.lang.IndexOutOfBoundsException    if index is not in [0, size()).
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for a buffer of size " + size);
+        }
+        return offsets[index];
+    }
+
+    /**
+     * Removes every match from the buffer while keeping its backing array.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return    a new array holding the matches in the buffer.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(offsets, size);
+    }
+}
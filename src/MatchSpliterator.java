@@ -0,0 +1,127 @@
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * A pull-based view of the matches of a compiled pattern in a text, as returned by BoyerMooreBCGalil.spliterator and
+ * behind its iterator and stream.
+ *
+ * The spliterator owns the shifts [shift, end) of the pattern and holds the ScanState of the bad character + Galil
+ * loop. Each tryAdvance resumes the loop from that state with a limit of one match, so the shift and Galil's l only
+ * move forward when the next match is requested. forEachRemaining runs the loop once without a limit.
+ *
+ * trySplit hands the first half of the remaining shifts to a new spliterator, in the same way ParallelSearch splits a
+ * text into chunks: a spliterator owning the shifts [start, end) reads the text up to end + m - 1, so a match
+ * straddling the split is reported by the half that owns its starting shift, and only by that half. The prefix keeps
+ * the current Galil's l, and the suffix starts its half with l = 0. Halves are never smaller than
+ * ParallelSearch.MIN_CHUNK_SIZE shifts, or than ParallelSearch.CHUNK_TO_PATTERN_RATIO times the length of the
+ * pattern.
+ *
+ * The text must not be modified while its matches are being consumed. A MatchSpliterator is not thread-safe, but the
+ * spliterators it splits into may be used on different threads.
+ */
+final class MatchSpliterator implements Spliterator.OfInt {
+
+    private final CompiledPattern compiled;
+    private final CharSequence text;
+
+    // the shift at which the scan resumes, and Galil's l at that shift. Shifts are absolute indices in the text.
+    private final ScanState state;
+
+    // one past the last shift owned by this spliterator.
+    private int end;
+
+    /**
+     * Creates a spliterator owning the shifts [shift, end) of the pattern in the text.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param shift    the first shift owned by the spliterator.
+     * @param l    Galil's l at that shift.
+     * @param end    one past the last shift owned by the spliterator.
+     */
+    MatchSpliterator(CompiledPattern compiled, CharSequence text, int shift, int l, int end) {
+        this.compiled = compiled;
+        this.text = text;
+        this.state = new ScanState();
+        this.state.shift = shift;
+        this.state.l = l;
+        this.end = end;
+    }
+
+    /**
+     * Creates a spliterator over every match of the pattern in the text.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     */
+    MatchSpliterator(CompiledPattern compiled, CharSequence text) {
+        this(compiled, text, 0, 0, Math.max(text.length() - compiled.length() + 1, 0));
+    }
+
+    /**
+     * Returns the index one past the last character of the text read by this spliterator.
+     *
+     * @return    end + m - 1, capped at the length of the text.
+     */
+    private int limit() {
+        return Math.min(text.length(), end + compiled.length() - 1);
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        if (state.shift >= end) {
+            return false;
+        }
+        return BoyerMooreBCGalil.boyerMooreBCGalil(compiled, text, 0, limit(), state, CharMatcher.EXACT, 1, action) > 0;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        if (state.shift < end) {
+            BoyerMooreBCGalil.boyerMooreBCGalil(compiled, text, 0, limit(), state, CharMatcher.EXACT,
+                    Integer.MAX_VALUE, action);
+        }
+    }
+
+    @Override
+    public Spliterator.OfInt trySplit() {
+        int minimum = Math.max(ParallelSearch.MIN_CHUNK_SIZE,
+                ParallelSearch.CHUNK_TO_PATTERN_RATIO * compiled.length());
+        int remaining = end - state.shift;
+        if (remaining < 2 * minimum) {
+            return null;
+        }
+        int middle = state.shift + remaining / 2;
+        MatchSpliterator prefix = new MatchSpliterator(compiled, text, state.shift, state.l, middle);
+        state.shift = middle;
+        state.l = 0;
+        return prefix;
+    }
+
+    /**
+     * Returns the number of shifts left, an upper bound on the number of matches left.
+     *
+     * @return    the number of shifts this spliterator has yet to check.
+     */
+    @Override
+    public long estimateSize() {
+        return Math.max(end - state.shift, 0);
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SORTED | DISTINCT | NONNULL;
+    }
+
+    @Override
+    public Comparator<? super Integer> getComparator() {
+        return null;
+    }
+}
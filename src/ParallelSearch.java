@@ -0,0 +1,213 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Searches a large in-memory text for a pattern on several threads with the bad character + Galil loop of
+ * BoyerMooreBCGalil (or ByteBoyerMooreBCGalil for bytes).
+ *
+ * The n - m + 1 possible shifts of the pattern are split into consecutive chunks and each chunk is scanned by a
+ * ForkJoin task. A chunk owning the shifts [start, end) scans the text [start, end + m - 1), so it overlaps the next
+ * chunk by m - 1 characters: a match straddling a chunk boundary is seen by the chunk that owns its starting shift,
+ * and only by that chunk, so no match is lost or reported twice. The matches of every chunk are then handed to the
+ * sink in ascending order on the calling thread.
+ *
+ * The compiled pattern is immutable and is shared, read-only, by every task.
+ *
+ * Chunks hold at least MIN_CHUNK_SIZE shifts, and at least CHUNK_TO_PATTERN_RATIO times the length of the pattern so
+ * that the overlap stays small. Above that the text is split into about CHUNKS_PER_THREAD chunks for each thread of
+ * the pool, so that a thread finishing early can steal work from the others. A text too short to be worth splitting
+ * is searched on the calling thread.
+ */
+public class ParallelSearch {
+
+    // the fewest shifts a chunk is made of. Below this the cost of a task outweighs the scan.
+    public static final int MIN_CHUNK_SIZE = 1 << 16;
+
+    // a chunk holds at least this many times the length of the pattern, so the m - 1 overlap stays small.
+    static final int CHUNK_TO_PATTERN_RATIO = 16;
+
+    // the number of chunks created for each thread of the pool.
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Searches a text for a compiled pattern on the common pool.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack). It must not be modified
+     *                while it is being searched.
+     * @return    a list containing the starting index of each match found, in ascending order.
+     * @throws java.lang.IllegalArgumentException    if the compiled pattern or text is null.
+     */
+    public static List<Integer> search(CompiledPattern compiled, CharSequence text) {
+        List<Integer> matches = new ArrayList<>();
+        search(compiled, text, ForkJoinPool.commonPool(), matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches a text for a compiled pattern on the given pool, reporting each match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack). It must not be modified
+     *                while it is being searched.
+     * @param pool    the pool the chunks are scanned on.
+     * @param sink    receives the starting index of each match, in ascending order, on the calling thread.
+     * @throws java.lang.IllegalArgumentException    if the compiled pattern, text, pool, or sink is null.
+     */
+    public static void search(CompiledPattern compiled, CharSequence text, ForkJoinPool pool, IntConsumer sink) {
+        checkArguments(compiled, text, pool, sink);
+        search(text.length(), compiled.length(), pool, sink, (from, to, matches) ->
+                BoyerMooreBCGalil.boyerMooreBCGalil(compiled, text, from, to, new ScanState(), CharMatcher.EXACT,
+                        matches));
+    }
+
+    /**
+     * Searches a byte array for a compiled byte pattern on the common pool.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the bytes where a user searches for a pattern (the haystack). They must not be modified while
+     *                they are being searched.
+     * @return    a list containing the starting index of each match found, in ascending order.
+     * @throws java.lang.IllegalArgumentException    if the compiled pattern or text is null.
+     */
+    public static List<Integer> search(CompiledBytePattern compiled, byte[] text) {
+        List<Integer> matches = new ArrayList<>();
+        search(compiled, text, ForkJoinPool.commonPool(), matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches a byte array for a compiled byte pattern on the given pool, reporting each match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the bytes where a user searches for a pattern (the haystack). They must not be modified while
+     *                they are being searched.
+     * @param pool    the pool the chunks are scanned on.
+     * @param sink    receives the starting index of each match, in ascending order, on the calling thread.
+     * @throws java.lang.IllegalArgumentException    if the compiled pattern, text, pool, or sink is null.
+     */
+    public static void search(CompiledBytePattern compiled, byte[] text, ForkJoinPool pool, IntConsumer sink) {
+        checkArguments(compiled, text, pool, sink);
+        search(text.length, compiled.length(), pool, sink, (from, to, matches) ->
+                ByteBoyerMooreBCGalil.searchBytes(compiled, text, from, to, new ScanState(), matches));
+    }
+
+    /**
+     * Splits the shifts of the pattern into chunks, scans them on the pool and reports their matches in order.
+     *
+     * @param n    the length of the text.
+     * @param m    the length of the pattern.
+     * @param pool    the pool the chunks are scanned on.
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @param scanner    scans one range of the text.
+     */
+    private static void search(int n, int m, ForkJoinPool pool, IntConsumer sink, RangeScanner scanner) {
+        // shifts is the number of positions the pattern can start at.
+        int shifts = n - m + 1;
+        if (shifts <= 0) {
+            return;
+        }
+
+        long minChunk = Math.max(MIN_CHUNK_SIZE, (long) CHUNK_TO_PATTERN_RATIO * m);
+        long wanted = (long) pool.getParallelism() * CHUNKS_PER_THREAD;
+        int chunkSize = (int) Math.max(minChunk, (shifts + wanted - 1) / wanted);
+        int chunks = (int) ((shifts + (long) chunkSize - 1) / chunkSize);
+
+        if (chunks == 1) {
+            scanner.scan(0, n, sink);
+            return;
+        }
+
+        MatchBuffer[] results = new MatchBuffer[chunks];
+        pool.invoke(new ChunkTask(scanner, results, 0, chunks, chunkSize, n, m));
+
+        for (int c = 0; c < chunks; c++) {
+            int start = c * chunkSize;
+            MatchBuffer matches = results[c];
+            for (int i = 0; i < matches.size(); i++) {
+                sink.accept(start + matches.get(i));
+            }
+        }
+    }
+
+    /**
+     * Checks the arguments shared by every search method.
+     *
+     * @param compiled    the compiled pattern, either a CompiledPattern or a CompiledBytePattern.
+     * @param text    the text.
+     * @param pool    the pool.
+     * @param sink    the sink receiving matches.
+     * @throws java.lang.IllegalArgumentException    if any argument is null.
+     */
+    private static void checkArguments(Object compiled, Object text, ForkJoinPool pool, IntConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("The pool parameter cannot be null. Please try again with a "
+                    + " non-null pool parameter.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+    }
+
+    /**
+     * Scans the range [from, to) of a text, reporting matches relative to from.
+     */
+    @FunctionalInterface
+    private interface RangeScanner {
+        void scan(int from, int to, IntConsumer matches);
+    }
+
+    /**
+     * Scans the chunks [lo, hi), splitting the range in half until a single chunk is left.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final RangeScanner scanner;
+        private final MatchBuffer[] results;
+        private final int lo;
+        private final int hi;
+        private final int chunkSize;
+        private final int n;
+        private final int m;
+
+        ChunkTask(RangeScanner scanner, MatchBuffer[] results, int lo, int hi, int chunkSize, int n, int m) {
+            this.scanner = scanner;
+            this.results = results;
+            this.lo = lo;
+            this.hi = hi;
+            this.chunkSize = chunkSize;
+            this.n = n;
+            this.m = m;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                // the chunk owns the shifts [start, start + chunkSize), so it reads m - 1 characters past them.
+                int start = lo * chunkSize;
+                int end = (int) Math.min(n, (long) start + chunkSize + m - 1);
+                MatchBuffer matches = new MatchBuffer();
+                scanner.scan(start, end, matches);
+                results[lo] = matches;
+            } else {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new ChunkTask(scanner, results, lo, mid, chunkSize, n, m),
+                        new ChunkTask(scanner, results, mid, hi, chunkSize, n, m));
+            }
+        }
+    }
+}
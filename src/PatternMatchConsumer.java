@@ -0,0 +1,13 @@
+/**
+ * Receives the matches of a multi-pattern search as primitive (patternId, offset) pairs, so that reporting a match
+ * boxes nothing.
+ */
+@FunctionalInterface
+public interface PatternMatchConsumer {
+
+    /**
+     * @param patternId    the index, in the compiled pattern set, of the pattern that matched.
+     * @param offset    the starting index of the match in the text.
+     */
+    void accept(int patternId, int offset);
+}
@@ -0,0 +1,164 @@
+import java.util.Arrays;
+
+/**
+ * A last occurrence table, as specified by the bad character rule, that stores its entries in primitive arrays.
+ *
+ * LastOccurrenceTable.buildLastTable returns a Map, so every lookup on a mismatch boxes a Character and unboxes an
+ * Integer. This table answers the same question without allocating:
+ * 1. If every character of the pattern is ASCII or Latin-1 the table is a dense int array of length 128 or 256
+ * indexed directly by the character.
+ * 2. Otherwise the table is a compact open-addressing hash table from char keys to int values, sized by the number
+ * of distinct characters in the pattern rather than by the size of the alphabet.
+ *
+ * Instances are immutable once built.
+ */
+public final class PrimitiveLastTable {
+
+    // marks an unused slot of the hash table. Every stored value is a pattern index, so it is never negative.
+    private static final int EMPTY = -1;
+
+    // the dense table for ASCII and Latin-1 patterns, or null if the pattern uses characters above 0xFF.
+    private final int[] dense;
+
+    // the keys and values of the open-addressing table. Both are null when the dense table is used.
+    private final char[] keys;
+    private final int[] values;
+    private final int mask;
+
+    /**
+     * Builds a dense table.
+     *
+     * @param dense    the dense table.
+     */
+    private PrimitiveLastTable(int[] dense) {
+        this.dense = dense;
+        this.keys = null;
+        this.values = null;
+        this.mask = 0;
+    }
+
+    /**
+     * Builds a hashed table.
+     *
+     * @param keys    the keys of the hash table.
+     * @param values    the values of the hash table, EMPTY for an unused slot.
+     */
+    private PrimitiveLastTable(char[] keys, int[] values) {
+        this.dense = null;
+        this.keys = keys;
+        this.values = values;
+        this.mask = keys.length - 1;
+    }
+
+    /**
+     * Builds a primitive last occurrence table for the given pattern.
+     *
+     * If the pattern is empty every lookup on the returned table will return -1.
+     *
+     * @param pattern    a pattern that the last occurrence table is built for.
+     * @return    a table mapping every character of the pattern to its last occurrence in the pattern.
+     * @throws java.lang.IllegalArgumentException if the pattern is null
+     */
+    public static PrimitiveLastTable build(CharSequence pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("Your pattern cannot be a null value. Please pass in a valid pattern"
+                    + " parameter argument");
+        }
+        int m = pattern.length();
+
+        // the largest character determines whether a dense table can be used.
+        char max = 0;
+        for (int i = 0; i < m; i++) {
+            max = (char) Math.max(max, pattern.charAt(i));
+        }
+
+        if (max < 256) {
+            int[] dense = new int[max < 128 ? 128 : 256];
+            Arrays.fill(dense, -1);
+            for (int i = 0; i < m; i++) {
+                dense[pattern.charAt(i)] = i;
+            }
+            return new PrimitiveLastTable(dense);
+        }
+
+        char[] keys = new char[16];
+        int[] values = new int[16];
+        Arrays.fill(values, EMPTY);
+        int size = 0;
+        for (int i = 0; i < m; i++) {
+            // keep the load factor at or below one half so that probe sequences stay short.
+            if (2 * (size + 1) > keys.length) {
+                char[] oldKeys = keys;
+                int[] oldValues = values;
+                keys = new char[oldKeys.length * 2];
+                values = new int[oldValues.length * 2];
+                Arrays.fill(values, EMPTY);
+                for (int slot = 0; slot < oldKeys.length; slot++) {
+                    if (oldValues[slot] != EMPTY) {
+                        put(keys, values, oldKeys[slot], oldValues[slot]);
+                    }
+                }
+            }
+            if (put(keys, values, pattern.charAt(i), i)) {
+                size++;
+            }
+        }
+        return new PrimitiveLastTable(keys, values);
+    }
+
+    /**
+     * Inserts or overwrites a key in an open-addressing table.
+     *
+     * @param keys    the keys of the table. Its length must be a power of two.
+     * @param values    the values of the table.
+     * @param c    the key to store.
+     * @param index    the value to store.
+     * @return    true if the key was not previously present in the table.
+     */
+    private static boolean put(char[] keys, int[] values, char c, int index) {
+        int mask = keys.length - 1;
+        int slot = hash(c) & mask;
+        while (values[slot] != EMPTY) {
+            if (keys[slot] == c) {
+                values[slot] = index;
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = c;
+        values[slot] = index;
+        return true;
+    }
+
+    /**
+     * Spreads the bits of a character so that neighbouring characters do not collide in the low bits.
+     *
+     * @param c    the character to hash.
+     * @return    the hash of the character.
+     */
+    private static int hash(char c) {
+        int h = c * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Looks up the last occurrence of a character in the pattern.
+     *
+     * @param c    the character to look up, typically the text character at a mismatch.
+     * @return    the index of the last occurrence of c in the pattern, or -1 if c does not occur in the pattern.
+     */
+    public int get(char c) {
+        if (dense != null) {
+            return c < dense.length ? dense[c] : -1;
+        }
+        int slot = hash(c) & mask;
+        int value;
+        while ((value = values[slot]) != EMPTY) {
+            if (keys[slot] == c) {
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+}
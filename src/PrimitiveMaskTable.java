@@ -0,0 +1,123 @@
+/**
+ * The character masks of a pattern of at most 64 characters, as used by the bit-parallel engines ShiftOr and BNDM:
+ * bit i of the mask of c is set if and only if p[i] = c.
+ *
+ * The table is laid out like PrimitiveLastTable and built by the same single scan over the pattern, except that each
+ * character ORs in the bit of its position instead of overwriting its last position:
+ * 1. If every character of the pattern is ASCII or Latin-1 the table is a dense long array of length 128 or 256
+ * indexed directly by the character.
+ * 2. Otherwise the table is a compact open-addressing hash table from char keys to long masks.
+ *
+ * Instances are immutable once built.
+ */
+final class PrimitiveMaskTable {
+
+    // the longest pattern whose masks fit in a long.
+    static final int MAX_LENGTH = Long.SIZE;
+
+    // the dense table for ASCII and Latin-1 patterns, or null if the pattern uses characters above 0xFF.
+    private final long[] dense;
+
+    /*
+    the keys and masks of the open-addressing table. Both are null when the dense table is used. A mask of 0 marks an
+    unused slot, since the mask of a character in the pattern has at least one bit set.
+     */
+    private final char[] keys;
+    private final long[] masks;
+    private final int mask;
+
+    /**
+     * Builds a dense table.
+     *
+     * @param dense    the dense table.
+     */
+    private PrimitiveMaskTable(long[] dense) {
+        this.dense = dense;
+        this.keys = null;
+        this.masks = null;
+        this.mask = 0;
+    }
+
+    /**
+     * Builds a hashed table.
+     *
+     * @param keys    the keys of the hash table.
+     * @param masks    the masks of the hash table, 0 for an unused slot.
+     */
+    private PrimitiveMaskTable(char[] keys, long[] masks) {
+        this.dense = null;
+        this.keys = keys;
+        this.masks = masks;
+        this.mask = keys.length - 1;
+    }
+
+    /**
+     * Builds the mask table for the given pattern.
+     *
+     * @param pattern    a pattern of 1 to 64 characters.
+     * @return    a table mapping every character of the pattern to the set of positions it occurs at.
+     */
+    static PrimitiveMaskTable build(CharSequence pattern) {
+        int m = pattern.length();
+
+        // the largest character determines whether a dense table can be used.
+        char max = 0;
+        for (int i = 0; i < m; i++) {
+            max = (char) Math.max(max, pattern.charAt(i));
+        }
+
+        if (max < 256) {
+            long[] dense = new long[max < 128 ? 128 : 256];
+            for (int i = 0; i < m; i++) {
+                dense[pattern.charAt(i)] |= 1L << i;
+            }
+            return new PrimitiveMaskTable(dense);
+        }
+
+        // at most 64 distinct characters, so a table of 128 slots keeps the load factor at or below one half.
+        char[] keys = new char[128];
+        long[] masks = new long[128];
+        for (int i = 0; i < m; i++) {
+            char c = pattern.charAt(i);
+            int slot = hash(c) & 127;
+            while (masks[slot] != 0 && keys[slot] != c) {
+                slot = (slot + 1) & 127;
+            }
+            keys[slot] = c;
+            masks[slot] |= 1L << i;
+        }
+        return new PrimitiveMaskTable(keys, masks);
+    }
+
+    /**
+     * Spreads the bits of a character so that neighbouring characters do not collide in the low bits.
+     *
+     * @param c    the character to hash.
+     * @return    the hash of the character.
+     */
+    private static int hash(char c) {
+        int h = c * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Looks up the mask of a character.
+     *
+     * @param c    the character to look up, typically a text character.
+     * @return    the positions c occurs at in the pattern, or 0 if c does not occur in the pattern.
+     */
+    long get(char c) {
+        if (dense != null) {
+            return c < dense.length ? dense[c] : 0;
+        }
+        int slot = hash(c) & mask;
+        long value;
+        while ((value = masks[slot]) != 0) {
+            if (keys[slot] == c) {
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+}
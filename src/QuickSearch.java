@@ -0,0 +1,162 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * An implementation of Sunday's Quick Search variant of the Boyer Moore algorithm with Zvi Galil's optimization
+ * technique.
+ *
+ * Quick Search shifts on the text character just past the end of the window, t[i + m], which is part of the next
+ * window whatever the shift. Lining it up with its last occurrence in the pattern gives a shift of m - lot[c], so a
+ * character that does not occur in the pattern moves the pattern by m + 1, one more than Horspool or the bad
+ * character rule can. The shift reuses the last occurrence table of the bad character heuristic unchanged. Matches
+ * are handled exactly as in BoyerMooreBCGalil: after a match the pattern is shifted by its period k and only the last
+ * k elements are compared.
+ *
+ * The results are identical to those of BoyerMooreBCGalil.
+ */
+public class QuickSearch {
+
+    /**
+     * Searches the text for a pattern, counting comparisons with the comparator.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the pattern, text, or comparator is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static List<Integer> quickSearch(CharSequence pattern, CharSequence text, CharacterComparator comparator) {
+        return quickSearch(CompiledPattern.compile(pattern), text, comparator);
+    }
+
+    /**
+     * Searches the text for a compiled pattern, counting comparisons with the comparator.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or comparator is null.
+     */
+    public static List<Integer> quickSearch(CompiledPattern compiled, CharSequence text,
+                                            CharacterComparator comparator) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        quickSearch(compiled, text, comparator, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a compiled pattern, counting comparisons with the comparator and reporting the starting
+     * index of each match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, comparator, or sink is null.
+     */
+    public static void quickSearch(CompiledPattern compiled, CharSequence text, CharacterComparator comparator,
+                                   IntConsumer sink) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Your comparator cannot be null. Please try again with a "
+                    + " non-null comparator parameter.");
+        }
+        checkArguments(compiled, text, sink);
+        quickSearch(compiled, text, CharMatcher.counting(comparator), sink);
+    }
+
+    /**
+     * Searches the text for a compiled pattern without counting comparisons.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static List<Integer> quickSearch(CompiledPattern compiled, CharSequence text) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        quickSearch(compiled, text, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a compiled pattern without counting comparisons, reporting the starting index of each
+     * match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     */
+    public static void quickSearch(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        checkArguments(compiled, text, sink);
+        quickSearch(compiled, text, CharMatcher.EXACT, sink);
+    }
+
+    /**
+     * Checks the arguments shared by every public overload.
+     *
+     * @param compiled    the compiled pattern.
+     * @param text    the text.
+     * @param sink    the sink receiving matches.
+     * @throws java.lang.IllegalArgumentException   if any argument is null.
+     */
+    private static void checkArguments(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+    }
+
+    /**
+     * The scan loop shared by every overload above. The arguments must already have been checked.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     */
+    static void quickSearch(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+        char[] pattern = compiled.chars();
+        int n = text.length();
+        int m = compiled.length();
+        PrimitiveLastTable lot = compiled.lastOccurrenceTable();
+        int k = compiled.period();
+
+        // i is the shift of the pattern with respect to the text.
+        int i = 0;
+
+        // as in BoyerMooreBCGalil, only the elements (l <- m) of the pattern still need to be checked.
+        int l = 0;
+        while (i <= n - m) {
+            int j = m - 1;
+            while (j >= l && matcher.eq(pattern[j], text.charAt(i + j))) {
+                j--;
+            }
+            if (j < l) {
+                sink.accept(i);
+                l = m - k;
+                i += k;
+            } else {
+                l = 0;
+                // the last window has no character past its end, so there is nothing left to shift to.
+                if (i + m == n) {
+                    return;
+                }
+                i += m - lot.get(text.charAt(i + m));
+            }
+        }
+    }
+}
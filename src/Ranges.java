@@ -0,0 +1,41 @@
+/**
+ * Validates the regions of a text passed to the from/to overloads of the search engines.
+ */
+final class Ranges {
+
+    private Ranges() {
+    }
+
+    /**
+     * Checks that [from, to) is a region of a text.
+     *
+     * @param from    the index of the first character of the region.
+     * @param to    the index one past the last character of the region.
+     * @param length    the length of the text.
+     * @throws java.lang.IndexOutOfBoundsException   if the region is not within the text.
+     */
+    static void check(int from, int to, int length) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("The range [" + from + ", " + to + ") is out of bounds for a text"
+                    + " of length " + length);
+        }
+    }
+
+    /**
+     * Checks that every pair of an array of ranges is a region of a text.
+     *
+     * @param ranges    the regions, as consecutive from and to pairs.
+     * @param length    the length of the text.
+     * @throws java.lang.IllegalArgumentException   if the ranges are null or of odd length.
+     * @throws java.lang.IndexOutOfBoundsException   if any region is not within the text.
+     */
+    static void checkAll(int[] ranges, int length) {
+        if (ranges == null || ranges.length % 2 != 0) {
+            throw new IllegalArgumentException("Your ranges must be a non-null array of from and to pairs. Please"
+                    + " try again with an even number of bounds.");
+        }
+        for (int i = 0; i < ranges.length; i += 2) {
+            check(ranges[i], ranges[i + 1], length);
+        }
+    }
+}
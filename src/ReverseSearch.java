@@ -0,0 +1,200 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * A Boyer Moore search that runs from the end of the text toward its start, for tail-oriented lookups such as the
+ * last error in a log or the last delimiter before the end of a file.
+ *
+ * This is BoyerMooreComplete mirrored. The window starts at the end of the text and moves left, and within a window
+ * the pattern is compared left to right. Every table is mirrored accordingly, and all of them come from the reversed
+ * pattern compiled once (see CompiledPattern.mirror):
+ * 1. The bad character rule uses the first occurrence of each character in the pattern: on a mismatch at p[j]
+ * against c, the window moves left until the first occurrence of c after j lines up with c, or by 1 if there is none.
+ * 2. The good suffix rule becomes a good prefix rule: the matched prefix p[0, j - 1] is lined up with its next
+ * occurrence to the left.
+ * 3. Galil's rule keeps the period k, which is the same for a pattern and its reverse: after a match the window moves
+ * k to the left and only p[0, k - 1] is compared, since p[k, m - 1] is already known to match. Unlike
+ * BoyerMooreComplete the rule also applies when k = 1, since the good prefix shift after a match, shift[0], is k
+ * anyway.
+ *
+ * A shift i of the reversed pattern over the reversed text is the window text[n - m - i, n - i), and its element
+ * j is compared with text.charAt(n - 1 - i - j). The loop below is therefore the loop of BoyerMooreComplete read
+ * through that mirror. Matches are reported in descending order, and lastIndexOf stops at the first one it finds.
+ */
+public class ReverseSearch {
+
+    /**
+     * Finds the last occurrence of a pattern in the text.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return    the starting index of the last match, or -1 if the pattern does not occur in the text.
+     * @throws java.lang.IllegalArgumentException   if the pattern or text is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static int lastIndexOf(CharSequence pattern, CharSequence text) {
+        return lastIndexOf(CompiledPattern.compile(pattern), text);
+    }
+
+    /**
+     * Finds the last occurrence of a compiled pattern in the text. The scan stops at the first match from the end.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return    the starting index of the last match, or -1 if the pattern does not occur in the text.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static int lastIndexOf(CompiledPattern compiled, CharSequence text) {
+        checkArguments(compiled, text);
+        return lastIndexOf(compiled, text, text.length());
+    }
+
+    /**
+     * Finds the last occurrence of a compiled pattern in the text that starts at or before fromIndex, like
+     * String.lastIndexOf. Calling it again with the previous result minus one walks the matches backwards.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param fromIndex    the largest starting index to consider. Any value is accepted: a negative one finds
+     *                     nothing and one past the end of the text searches all of it.
+     * @return    the starting index of the last match at or before fromIndex, or -1 if there is none.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static int lastIndexOf(CompiledPattern compiled, CharSequence text, int fromIndex) {
+        checkArguments(compiled, text);
+        if (fromIndex < 0) {
+            return -1;
+        }
+        int end = (int) Math.min(text.length(), (long) fromIndex + compiled.length());
+        int[] last = {-1};
+        reverseSearch(compiled, text, end, CharMatcher.EXACT, 1, offset -> last[0] = offset);
+        return last[0];
+    }
+
+    /**
+     * Searches the text for a pattern from its end, counting comparisons with the comparator.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @return     a list containing the starting index for each match found, in descending order.
+     * @throws java.lang.IllegalArgumentException   if the pattern, text, or comparator is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static List<Integer> reverseSearch(CharSequence pattern, CharSequence text,
+                                              CharacterComparator comparator) {
+        CompiledPattern compiled = CompiledPattern.compile(pattern);
+        if (comparator == null) {
+            throw new IllegalArgumentException("Your comparator cannot be null. Please try again with a "
+                    + " non-null comparator parameter.");
+        }
+        checkArguments(compiled, text);
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        reverseSearch(compiled, text, text.length(), CharMatcher.counting(comparator), Integer.MAX_VALUE,
+                matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a compiled pattern from its end.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found, in descending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static List<Integer> reverseSearch(CompiledPattern compiled, CharSequence text) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        reverseSearch(compiled, text, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a compiled pattern from its end, reporting the starting index of each match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param sink    receives the starting index of each match, in descending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     */
+    public static void reverseSearch(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        checkArguments(compiled, text);
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+        reverseSearch(compiled, text, text.length(), CharMatcher.EXACT, Integer.MAX_VALUE, sink);
+    }
+
+    /**
+     * The scan loop shared by every overload above. It searches text[0, end) from its end and stops as soon as
+     * limit matches have been reported. The arguments must already have been checked.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param end    the index one past the last character of the text searched.
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param limit    the number of matches after which the scan stops.
+     * @param sink    receives the starting index of each match, in descending order.
+     * @return    the number of matches reported.
+     */
+    static int reverseSearch(CompiledPattern compiled, CharSequence text, int end, CharMatcher matcher, int limit,
+                             IntConsumer sink) {
+        // the tables of the reversed pattern are the mirrored tables of the pattern.
+        CompiledPattern mirror = compiled.mirror();
+        char[] reversed = mirror.chars();
+        int m = mirror.length();
+        PrimitiveLastTable lot = mirror.lastOccurrenceTable();
+        int[] shift = mirror.goodSuffixShifts();
+        int k = mirror.period();
+
+        // last is the index of the last character of the text searched, text[last - y] is the reversed text at y.
+        int last = end - 1;
+
+        // i is the shift of the reversed pattern over the reversed text: the window is text[end - m - i, end - i).
+        int i = 0;
+        // l is Galil's l of the reversed pattern: p[m - l, m - 1] is known to match and is not compared again.
+        int l = 0;
+        int count = 0;
+        while (i <= end - m) {
+            // j counts down over the reversed pattern, so the pattern itself is compared left to right.
+            int j = m - 1;
+            while (j >= l && matcher.eq(reversed[j], text.charAt(last - i - j))) {
+                j--;
+            }
+            if (j < l) {
+                sink.accept(end - m - i);
+                l = m - k;
+                i += k;
+                if (++count == limit) {
+                    break;
+                }
+            } else {
+                l = 0;
+                i += Math.max(shift[j + 1], j - lot.get(text.charAt(last - i - j)));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Checks the arguments shared by every overload.
+     *
+     * @param compiled    the compiled pattern.
+     * @param text    the text.
+     * @throws java.lang.IllegalArgumentException   if either argument is null.
+     */
+    private static void checkArguments(CompiledPattern compiled, CharSequence text) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * Where a Boyer Moore scan stopped, so that it can later be resumed over the same text without losing or repeating
+ * any match. This is what lets a search run over a text that arrives in pieces: mapped windows, stream refills, or
+ * consecutive chunks, and what lets a scan stop early once it has reported enough matches.
+ *
+ * A ScanState is mutable and not thread-safe. It is updated by the scan loops that take one.
+ */
+final class ScanState {
+
+    // the shift of the pattern, relative to the start of the range being scanned, at which the scan resumes.
+    int shift;
+
+    /*
+    Galil's l at that shift: the elements [0, l) of the pattern are already known to match the text, so only the
+    elements (l <- m) still need to be checked.
+     */
+    int l;
+
+    /**
+     * Moves the state to the start of a range whose first element is delta elements after the start of the previous
+     * range. Galil's l stays valid as long as the elements it covers are still part of the text being scanned.
+     *
+     * @param delta    the distance between the starts of the two ranges.
+     */
+    void rebase(int delta) {
+        shift -= delta;
+    }
+}
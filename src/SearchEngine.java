@@ -0,0 +1,152 @@
+import java.util.function.IntConsumer;
+
+/**
+ * The single pattern search engines of this repository, so that one can be chosen at runtime, by AdaptiveSearch or
+ * by a caller, and reported by name.
+ *
+ * Every engine returns the same matches for the same compiled pattern and text; they only differ in speed.
+ */
+public enum SearchEngine {
+
+    /*
+    a plain scan for patterns of a single character, which no shift rule can improve on. Longer patterns fall back to
+    the bad character + Galil loop, so that this engine too returns the same matches as every other one.
+     */
+    SINGLE_CHARACTER {
+        @Override
+        void search(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+            if (compiled.length() != 1) {
+                BoyerMooreBCGalil.boyerMooreBCGalil(compiled, text, matcher, sink);
+                return;
+            }
+            char c = compiled.chars()[0];
+            int n = text.length();
+            for (int i = 0; i < n; i++) {
+                if (matcher.eq(c, text.charAt(i))) {
+                    sink.accept(i);
+                }
+            }
+        }
+    },
+
+    BOYER_MOORE_BC_GALIL {
+        @Override
+        void search(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+            BoyerMooreBCGalil.boyerMooreBCGalil(compiled, text, matcher, sink);
+        }
+    },
+
+    INTRO_SEARCH {
+        @Override
+        void search(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+            IntroSearch.introSearch(compiled, text, matcher, sink);
+        }
+    },
+
+    BOYER_MOORE_GOOD_SUFFIX {
+        @Override
+        void search(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+            BoyerMooreGoodSuffix.boyerMoore(compiled, text, matcher, sink);
+        }
+    },
+
+    BOYER_MOORE_COMPLETE {
+        @Override
+        void search(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+            BoyerMooreComplete.boyerMooreGalil(compiled, text, matcher, sink);
+        }
+    },
+
+    HORSPOOL {
+        @Override
+        void search(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+            BoyerMooreHorspool.boyerMooreHorspool(compiled, text, matcher, sink);
+        }
+    },
+
+    QUICK_SEARCH {
+        @Override
+        void search(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+            QuickSearch.quickSearch(compiled, text, matcher, sink);
+        }
+    },
+
+    TURBO_BOYER_MOORE {
+        @Override
+        void search(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+            TurboBoyerMoore.turboBoyerMoore(compiled, text, matcher, sink);
+        }
+    },
+
+    APOSTOLICO_GIANCARLO {
+        @Override
+        void search(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+            ApostolicoGiancarlo.apostolicoGiancarlo(compiled, text, matcher, sink);
+        }
+    },
+
+    TWO_WAY {
+        @Override
+        void search(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+            TwoWay.twoWay(compiled, text, matcher, sink);
+        }
+    },
+
+    SHIFT_OR {
+        @Override
+        void search(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+            ShiftOr.shiftOr(compiled, text, matcher, sink);
+        }
+    },
+
+    BACKWARD_NONDETERMINISTIC_DAWG_MATCHING {
+        @Override
+        void search(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+            BNDM.bndm(compiled, text, matcher, sink);
+        }
+    },
+
+    BACKWARD_ORACLE_MATCHING {
+        @Override
+        void search(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+            BackwardOracleMatching.backwardOracleMatching(compiled, text, matcher, sink);
+        }
+    };
+
+    /**
+     * Searches the text for a compiled pattern with this engine, reporting the starting index of each match to a
+     * sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     */
+    public void search(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+        search(compiled, text, CharMatcher.EXACT, sink);
+    }
+
+    /**
+     * The scan loop of the engine. The arguments must already have been checked.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param matcher    used by the engine to check if two characters are equal. The bit-parallel engines make no
+     *                   comparisons through it unless the pattern is too long for a long, and the oracle engine never
+     *                   uses it, since it reads the text through the factor oracle instead of comparing characters.
+     * @param sink    receives the starting index of each match, in ascending order.
+     */
+    abstract void search(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink);
+}
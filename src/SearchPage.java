@@ -0,0 +1,60 @@
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A page of matches returned by a limited search, together with the continuation from which the next page can be
+ * fetched. Paging stops at the page for which isLast returns true, which may be empty.
+ *
+ * Instances are immutable.
+ */
+public final class SearchPage {
+
+    private final List<Integer> matches;
+    private final Continuation continuation;
+    private final boolean last;
+
+    /**
+     * Creates a page from the state a limited scan stopped in.
+     *
+     * @param matches    the starting indices of the matches on this page, in ascending order.
+     * @param state    the state the scan stopped in.
+     * @param lastShift    the last shift at which the pattern still fits in the text, n - m.
+     */
+    SearchPage(List<Integer> matches, ScanState state, int lastShift) {
+        this.matches = Collections.unmodifiableList(matches);
+        this.continuation = new Continuation(state.shift, state.l);
+        this.last = state.shift > lastShift;
+    }
+
+    /**
+     * Returns the matches on this page.
+     *
+     * @return    an unmodifiable list containing the starting index for each match on this page, in ascending order.
+     */
+    public List<Integer> matches() {
+        return matches;
+    }
+
+    /**
+     * Returns where the next page starts. Passing it back to the engine that produced this page resumes the scan
+     * right after the last match on this page.
+     *
+     * @return    the continuation of the search.
+     */
+    public Continuation continuation() {
+        return continuation;
+    }
+
+    /**
+     * Tells whether the scan reached the end of the text, in which case there is no next page.
+     *
+     * A page is only known to be last once every shift has been checked. A page that fills up to its limit stops right
+     * after its last match, so it is not last even if no match remains after it; the next page is then empty and
+     * last.
+     *
+     * @return    true if no shift of the pattern is left to check after this page.
+     */
+    public boolean isLast() {
+        return last;
+    }
+}
@@ -0,0 +1,92 @@
+import java.nio.ByteBuffer;
+
+/**
+ * The LongByteSource returned by LongByteSource.of: byte array or buffer segments of which every one but the last
+ * holds 2^bits bytes.
+ */
+final class SegmentedByteSource implements LongByteSource {
+
+    // the segments, as arrays or as buffers sliced at their position. Exactly one of the two is null.
+    private final byte[][] arrays;
+    private final ByteBuffer[] buffers;
+
+    private final int bits;
+    private final int mask;
+    private final long length;
+
+    /**
+     * Wraps array segments already validated by Segments.bits.
+     *
+     * @param arrays    the segments of the text, in order.
+     * @param bits    the base 2 logarithm of the length of the segments but the last.
+     */
+    SegmentedByteSource(byte[][] arrays, int bits) {
+        this.arrays = arrays;
+        this.buffers = null;
+        this.bits = bits;
+        this.mask = (1 << bits) - 1;
+        long total = 0;
+        for (byte[] segment : arrays) {
+            total += segment.length;
+        }
+        this.length = total;
+    }
+
+    /**
+     * Wraps buffer segments already validated by Segments.bits.
+     *
+     * @param buffers    the segments of the text, in order, each sliced so that it starts at index 0.
+     * @param bits    the base 2 logarithm of the length of the segments but the last.
+     */
+    SegmentedByteSource(ByteBuffer[] buffers, int bits) {
+        this.arrays = null;
+        this.buffers = buffers;
+        this.bits = bits;
+        this.mask = (1 << bits) - 1;
+        long total = 0;
+        for (ByteBuffer segment : buffers) {
+            total += segment.remaining();
+        }
+        this.length = total;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public byte byteAt(long index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for a text of length " + length);
+        }
+        if (arrays != null) {
+            if (arrays.length == 1) {
+                return arrays[0][(int) index];
+            }
+            return arrays[(int) (index >>> bits)][(int) index & mask];
+        }
+        if (buffers.length == 1) {
+            return buffers[0].get((int) index);
+        }
+        return buffers[(int) (index >>> bits)].get((int) index & mask);
+    }
+
+    /**
+     * Returns the only array segment, so that the text can be searched with the int-indexed loops.
+     *
+     * @return    the only segment, or null if the text is not a single array.
+     */
+    byte[] singleArray() {
+        return arrays != null && arrays.length == 1 ? arrays[0] : null;
+    }
+
+    /**
+     * Returns the only buffer segment, so that the text can be searched with the int-indexed loops.
+     *
+     * @return    the only segment, or null if the text is not a single buffer.
+     */
+    ByteBuffer singleBuffer() {
+        return buffers != null && buffers.length == 1 ? buffers[0] : null;
+    }
+}
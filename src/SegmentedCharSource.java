@@ -0,0 +1,78 @@
+import java.nio.CharBuffer;
+
+/**
+ * The LongCharSource returned by LongCharSource.of: either a single CharSequence, or char array segments of which
+ * every one but the last holds 2^bits chars.
+ */
+final class SegmentedCharSource implements LongCharSource {
+
+    // the wrapped CharSequence, or null if the source is made of segments.
+    private final CharSequence sequence;
+
+    private final char[][] segments;
+    private final int bits;
+    private final int mask;
+    private final long length;
+
+    /**
+     * Wraps a CharSequence.
+     *
+     * @param sequence    the text.
+     */
+    SegmentedCharSource(CharSequence sequence) {
+        this.sequence = sequence;
+        this.segments = null;
+        this.bits = 0;
+        this.mask = 0;
+        this.length = sequence.length();
+    }
+
+    /**
+     * Wraps segments already validated by Segments.bits.
+     *
+     * @param segments    the segments of the text, in order.
+     * @param bits    the base 2 logarithm of the length of the segments but the last.
+     */
+    SegmentedCharSource(char[][] segments, int bits) {
+        this.sequence = null;
+        this.segments = segments;
+        this.bits = bits;
+        this.mask = (1 << bits) - 1;
+        long total = 0;
+        for (char[] segment : segments) {
+            total += segment.length;
+        }
+        this.length = total;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(long index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for a text of length " + length);
+        }
+        if (sequence != null) {
+            return sequence.charAt((int) index);
+        }
+        if (segments.length == 1) {
+            return segments[0][(int) index];
+        }
+        return segments[(int) (index >>> bits)][(int) index & mask];
+    }
+
+    /**
+     * Returns the text as a single CharSequence when it is small enough to be searched with the int-indexed loops.
+     *
+     * @return    the wrapped CharSequence, the only segment, or null if the text is split into several segments.
+     */
+    CharSequence asCharSequence() {
+        if (sequence != null) {
+            return sequence;
+        }
+        return segments.length == 1 ? CharBuffer.wrap(segments[0]) : null;
+    }
+}
@@ -0,0 +1,159 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Searches a text that is held as a list of segments, such as network frames, rope nodes or StringBuilder pieces,
+ * without concatenating them into a single String first.
+ *
+ * Each segment is scanned in place with the bad character + Galil loop of BoyerMooreBCGalil, so the inner loop over
+ * a segment is the same one used for a whole String or array. The scan of a segment stops once the pattern no longer
+ * fits in it, at a shift less than m from its end. The shifts left in that tail are windows that straddle a segment
+ * boundary. They are checked in a seam: a small buffer holding the tail and the next m - 1 characters of the text,
+ * which may come from several following segments. The seam is short enough that its last shift is the last one of
+ * the tail, so every shift is checked exactly once, either in its segment or in a seam, and no match is lost or
+ * reported twice. At most 2m - 2 characters are copied per segment boundary, and the seam buffer is allocated once
+ * per search.
+ *
+ * Galil's l is carried from a segment to its seam and from the seam to the following segment, together with the
+ * shift.
+ *
+ * Matches are reported as long offsets from the start of the first segment, so the segments may add up to more than
+ * Integer.MAX_VALUE characters. The segments must not be modified while they are being searched.
+ */
+public class SegmentedSearch {
+
+    /**
+     * Searches a segmented text for a compiled pattern.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param segments    the segments of the body of text where a user searches for a pattern (the haystack), in
+     *                    order.
+     * @return    a list containing the offset of each match found from the start of the first segment.
+     * @throws java.lang.IllegalArgumentException    if the compiled pattern, the list or any segment is null.
+     */
+    public static List<Long> search(CompiledPattern compiled, List<? extends CharSequence> segments) {
+        // matches will store the starting offsets of each match found
+        List<Long> matches = new ArrayList<>();
+        search(compiled, segments, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches a segmented text for a compiled pattern, reporting each match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param segments    the segments of the body of text where a user searches for a pattern (the haystack), in
+     *                    order.
+     * @param sink    receives the offset of each match from the start of the first segment, in ascending order.
+     * @throws java.lang.IllegalArgumentException    if the compiled pattern, the list, any segment, or the sink is
+     *                                               null.
+     */
+    public static void search(CompiledPattern compiled, List<? extends CharSequence> segments, LongConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (segments == null) {
+            throw new IllegalArgumentException("Your segments cannot be null. Please try again with a "
+                    + " non-null list of segments.");
+        }
+        // copied once, since get may walk a LinkedList from its head, which would make the search quadratic.
+        CharSequence[] parts = segments.toArray(new CharSequence[0]);
+        for (int i = 0; i < parts.length; i++) {
+            if (parts[i] == null) {
+                throw new IllegalArgumentException("Segment " + i + " cannot be null. Please try again with"
+                        + " non-null segments.");
+            }
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+
+        int m = compiled.length();
+        char[] seam = new char[2 * (m - 1)];
+        OffsetSink offsets = new OffsetSink(sink);
+
+        // the shift, relative to the start of the current segment, and Galil's l at which the scan resumes.
+        ScanState state = new ScanState();
+        for (int index = 0; index < parts.length; index++) {
+            CharSequence segment = parts[index];
+            int length = segment.length();
+
+            BoyerMooreBCGalil.boyerMooreBCGalil(compiled, segment, 0, length, state, CharMatcher.EXACT, offsets);
+
+            // the shifts [state.shift, length) left in this segment, fewer than m of them, straddle its end.
+            int tail = length - state.shift;
+            if (tail > 0) {
+                int filled = fillSeam(seam, segment, state.shift, parts, index + 1, m - 1);
+                offsets.base += state.shift;
+                int start = state.shift;
+                state.shift = 0;
+                BoyerMooreBCGalil.searchChars(compiled, seam, 0, filled, state, CharMatcher.EXACT,
+                        Integer.MAX_VALUE, offsets);
+                offsets.base -= start;
+                /*
+                the seam ends m - 1 characters after the tail, so its scan stops at a shift past the tail. A seam cut
+                short by the end of the text stops earlier, but then no shift after it fits in the text either.
+                 */
+                if (state.shift < tail) {
+                    state.shift = tail;
+                    state.l = 0;
+                }
+                state.shift += start;
+            }
+            offsets.base += length;
+            state.rebase(length);
+        }
+    }
+
+    /**
+     * Copies the tail of a segment, followed by up to extra characters of the segments after it, into the seam.
+     *
+     * @param seam    the buffer to fill, of length at least 2m - 2.
+     * @param segment    the segment whose tail is copied.
+     * @param from    the index in the segment at which the tail starts.
+     * @param parts    every segment of the text.
+     * @param next    the index of the segment following the one whose tail is copied.
+     * @param extra    the number of characters wanted after the tail, m - 1.
+     * @return    the number of characters copied into the seam.
+     */
+    private static int fillSeam(char[] seam, CharSequence segment, int from, CharSequence[] parts, int next,
+                                int extra) {
+        int filled = 0;
+        for (int i = from; i < segment.length(); i++) {
+            seam[filled++] = segment.charAt(i);
+        }
+        int wanted = filled + extra;
+        for (int index = next; index < parts.length && filled < wanted; index++) {
+            CharSequence following = parts[index];
+            int take = Math.min(following.length(), wanted - filled);
+            for (int i = 0; i < take; i++) {
+                seam[filled++] = following.charAt(i);
+            }
+        }
+        return filled;
+    }
+
+    /**
+     * Turns the indices reported by a scan of a segment or a seam into offsets from the start of the text.
+     */
+    private static final class OffsetSink implements IntConsumer {
+
+        // the offset of the start of the segment or seam being scanned.
+        long base;
+
+        private final LongConsumer sink;
+
+        OffsetSink(LongConsumer sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void accept(int offset) {
+            sink.accept(base + offset);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/**
+ * Validates the layout of segmented long texts, as wrapped by LongCharSource and LongByteSource.
+ */
+final class Segments {
+
+    private Segments() {
+    }
+
+    /**
+     * Checks that every segment but the last has the same power of two length, and returns that power.
+     *
+     * @param lengths    the lengths of the segments, in order.
+     * @return    the base 2 logarithm of the length of the segments but the last, or 0 if there is at most one.
+     * @throws java.lang.IllegalArgumentException   if the segments but the last do not share a power of two length,
+     *                                              or if the last one is longer than the others.
+     */
+    static int bits(int[] lengths) {
+        if (lengths.length <= 1) {
+            return 0;
+        }
+        int size = lengths[0];
+        if (Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Your segments must have a power of two length, but the first one"
+                    + " has a length of " + size + ".");
+        }
+        for (int i = 1; i < lengths.length; i++) {
+            if (i < lengths.length - 1 ? lengths[i] != size : lengths[i] > size) {
+                throw new IllegalArgumentException("Every segment but the last must have a length of " + size
+                        + " and the last one at most that, but segment " + i + " has a length of " + lengths[i] + ".");
+            }
+        }
+        return Integer.numberOfTrailingZeros(size);
+    }
+}
@@ -0,0 +1,101 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * An implementation of the bit-parallel Shift-Or algorithm of Baeza-Yates and Gonnet for patterns of up to 64
+ * characters.
+ *
+ * Shift-Or simulates the nondeterministic automaton of the pattern with one bit per state, all held in a single
+ * long. Bit i of the state d is 0 when p[0, i] matches the text ending at the current character, so after reading
+ * a character c the new state is (d << 1) | ~mask[c], where bit i of mask[c] is set if p[i] = c. A 0 in bit m - 1
+ * is a match. Each text character costs one table lookup, a shift and an OR, whatever the alphabet, which is what
+ * makes it fast on small alphabets where the bad character shifts of BoyerMooreBCGalil are tiny.
+ *
+ * The masks are built by CompiledPattern from a single scan over the pattern (see PrimitiveMaskTable). Patterns
+ * longer than 64 characters do not fit in a long and are searched with BoyerMooreBCGalil instead.
+ *
+ * The results are identical to those of BoyerMooreBCGalil.
+ */
+public class ShiftOr {
+
+    /**
+     * Searches the text for a pattern.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the pattern or text is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static List<Integer> shiftOr(CharSequence pattern, CharSequence text) {
+        return shiftOr(CompiledPattern.compile(pattern), text);
+    }
+
+    /**
+     * Searches the text for a compiled pattern.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static List<Integer> shiftOr(CompiledPattern compiled, CharSequence text) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        shiftOr(compiled, text, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a compiled pattern, reporting the starting index of each match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     */
+    public static void shiftOr(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+        shiftOr(compiled, text, CharMatcher.EXACT, sink);
+    }
+
+    /**
+     * The scan loop shared by every overload above. The arguments must already have been checked.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param matcher    used to compare characters when the pattern is too long for the bit-parallel loop.
+     * @param sink    receives the starting index of each match, in ascending order.
+     */
+    static void shiftOr(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+        PrimitiveMaskTable masks = compiled.masks();
+        if (masks == null) {
+            BoyerMooreBCGalil.boyerMooreBCGalil(compiled, text, matcher, sink);
+            return;
+        }
+        int n = text.length();
+        int m = compiled.length();
+        long accept = 1L << (m - 1);
+
+        // d is the state of the automaton; a 0 in bit i means p[0, i] matches the text ending at index x.
+        long d = ~0L;
+        for (int x = 0; x < n; x++) {
+            d = (d << 1) | ~masks.get(text.charAt(x));
+            if ((d & accept) == 0) {
+                sink.accept(x - m + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Searches a Reader or an InputStream for a pattern while holding only a bounded amount of the text in memory, so
+ * that logs, sockets and files of any size can be searched without first being read into a String or array.
+ *
+ * The text is read into a buffer of bufferSize elements and the buffer is scanned with the bad character + Galil
+ * loop of BoyerMooreBCGalil (or ByteBoyerMooreBCGalil for bytes). When the pattern no longer fits in the buffer the
+ * elements from the shift where the scan stopped onward, at most m - 1 of them, are moved to the front of the buffer
+ * and the rest of it is refilled from the stream. No match that straddles a refill is missed and none is reported
+ * twice. Matches are reported as absolute long offsets from the first element read, so streams longer than
+ * Integer.MAX_VALUE are supported.
+ *
+ * Galil's l is carried across refills together with the shift, so a periodic pattern that matches across a refill
+ * boundary does not have its known prefix compared again.
+ *
+ * The streams are read until they are exhausted but are not closed.
+ */
+public class StreamingSearch {
+
+    // the default number of elements held in the buffer.
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Searches a Reader for a compiled pattern using the default buffer size.
+     *
+     * @param compiled    the compiled pattern a user is searching for in the stream (the needle).
+     * @param text    the stream of characters where a user searches for a pattern (the haystack).
+     * @param sink    receives the offset of each match from the first character read, in ascending order.
+     * @throws java.lang.IllegalArgumentException    if the compiled pattern, reader, or sink is null.
+     * @throws java.io.IOException    if the reader throws one.
+     */
+    public static void search(CompiledPattern compiled, Reader text, LongConsumer sink) throws IOException {
+        search(compiled, text, DEFAULT_BUFFER_SIZE, sink);
+    }
+
+    /**
+     * Searches a Reader for a compiled pattern, holding at most bufferSize characters of it in memory.
+     *
+     * @param compiled    the compiled pattern a user is searching for in the stream (the needle).
+     * @param text    the stream of characters where a user searches for a pattern (the haystack).
+     * @param bufferSize    the number of characters held in memory. The buffer is enlarged to the length of the
+     *                      pattern if it is longer.
+     * @param sink    receives the offset of each match from the first character read, in ascending order.
+     * @throws java.lang.IllegalArgumentException    if the compiled pattern, reader, or sink is null.
+     * @throws java.lang.IllegalArgumentException    if bufferSize is not positive.
+     * @throws java.io.IOException    if the reader throws one.
+     */
+    public static void search(CompiledPattern compiled, Reader text, int bufferSize, LongConsumer sink)
+            throws IOException {
+        checkArguments(compiled, text, bufferSize, sink);
+
+        char[] buffer = new char[Math.max(bufferSize, compiled.length())];
+        ScanState state = new ScanState();
+        // filled is the number of characters held in the buffer.
+        int filled = 0;
+        OffsetSink offsets = new OffsetSink(sink);
+
+        while (true) {
+            // fill the buffer completely, or until the end of the stream, so every scan covers as much text as it can.
+            boolean eof = false;
+            while (filled < buffer.length) {
+                int read = text.read(buffer, filled, buffer.length - filled);
+                if (read < 0) {
+                    eof = true;
+                    break;
+                }
+                filled += read;
+            }
+
+            BoyerMooreBCGalil.searchChars(compiled, buffer, 0, filled, state, CharMatcher.EXACT, Integer.MAX_VALUE,
+                    offsets);
+            if (eof) {
+                return;
+            }
+
+            // keep the characters from the next shift onward. state.shift > filled - m, so at most m - 1 are kept.
+            int kept = filled - state.shift;
+            System.arraycopy(buffer, state.shift, buffer, 0, kept);
+            offsets.base += state.shift;
+            filled = kept;
+            state.rebase(state.shift);
+        }
+    }
+
+    /**
+     * Searches an InputStream for a compiled byte pattern using the default buffer size.
+     *
+     * @param compiled    the compiled pattern a user is searching for in the stream (the needle).
+     * @param text    the stream of bytes where a user searches for a pattern (the haystack).
+     * @param sink    receives the offset of each match from the first byte read, in ascending order.
+     * @throws java.lang.IllegalArgumentException    if the compiled pattern, stream, or sink is null.
+     * @throws java.io.IOException    if the stream throws one.
+     */
+    public static void search(CompiledBytePattern compiled, InputStream text, LongConsumer sink) throws IOException {
+        search(compiled, text, DEFAULT_BUFFER_SIZE, sink);
+    }
+
+    /**
+     * Searches an InputStream for a compiled byte pattern, holding at most bufferSize bytes of it in memory.
+     *
+     * @param compiled    the compiled pattern a user is searching for in the stream (the needle).
+     * @param text    the stream of bytes where a user searches for a pattern (the haystack).
+     * @param bufferSize    the number of bytes held in memory. The buffer is enlarged to the length of the pattern
+     *                      if it is longer.
+     * @param sink    receives the offset of each match from the first byte read, in ascending order.
+     * @throws java.lang.IllegalArgumentException    if the compiled pattern, stream, or sink is null.
+     * @throws java.lang.IllegalArgumentException    if bufferSize is not positive.
+     * @throws java.io.IOException    if the stream throws one.
+     */
+    public static void search(CompiledBytePattern compiled, InputStream text, int bufferSize, LongConsumer sink)
+            throws IOException {
+        checkArguments(compiled, text, bufferSize, sink);
+
+        byte[] buffer = new byte[Math.max(bufferSize, compiled.length())];
+        ScanState state = new ScanState();
+        int filled = 0;
+        OffsetSink offsets = new OffsetSink(sink);
+
+        while (true) {
+            boolean eof = false;
+            while (filled < buffer.length) {
+                int read = text.read(buffer, filled, buffer.length - filled);
+                if (read < 0) {
+                    eof = true;
+                    break;
+                }
+                filled += read;
+            }
+
+            ByteBoyerMooreBCGalil.searchBytes(compiled, buffer, 0, filled, state, offsets);
+            if (eof) {
+                return;
+            }
+
+            int kept = filled - state.shift;
+            System.arraycopy(buffer, state.shift, buffer, 0, kept);
+            offsets.base += state.shift;
+            filled = kept;
+            state.rebase(state.shift);
+        }
+    }
+
+    /**
+     * Checks the arguments shared by every search method.
+     *
+     * @param compiled    the compiled pattern, either a CompiledPattern or a CompiledBytePattern.
+     * @param text    the Reader or InputStream.
+     * @param bufferSize    the requested buffer size.
+     * @param sink    the sink receiving matches.
+     * @throws java.lang.IllegalArgumentException    if any argument is null or bufferSize is not positive.
+     */
+    private static void checkArguments(Object compiled, Object text, int bufferSize, LongConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The stream parameter cannot be null. Please try again with a "
+                    + " non-null stream parameter.");
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The buffer size must be positive. Please try again with a positive"
+                    + " buffer size.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+    }
+
+    /**
+     * Turns the buffer relative offsets reported by a scan loop into stream offsets. A single instance is reused for
+     * every refill, so a search allocates nothing per refill.
+     */
+    private static final class OffsetSink implements IntConsumer {
+
+        // the stream offset of the first element of the buffer.
+        long base;
+
+        private final LongConsumer sink;
+
+        OffsetSink(LongConsumer sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void accept(int offset) {
+            sink.accept(base + offset);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * An implementation of the Turbo Boyer Moore algorithm of Crochemore, Czumaj, Gasieniec, Jarominek, Lecroq, Plandowski
+ * and Rytter, built on the good suffix shift array of GoodSuffixPreprocessing.
+ *
+ * BoyerMooreGoodSuffix forgets everything it learned about the text after each shift. Turbo Boyer Moore remembers
+ * the factor of the text, u, that matched a suffix of the pattern in the previous attempt when that attempt was
+ * followed by a good suffix shift. The good suffix shift lines the factor up with an equal factor of the pattern, so
+ * when the scan reaches it in the next attempt it jumps over it instead of comparing it again. After a full match the
+ * pattern is shifted by shift[0], its period, and the remembered factor is the border of length m - shift[0]: the
+ * same elements that Galil's rule skips.
+ *
+ * The published algorithm also takes a "turbo shift" of u - v, where v is the suffix matched in the current attempt.
+ * That shift changes which alignments of the pattern are tried, and on some texts the new alignments cost more
+ * comparisons than they save. This implementation instead takes exactly the shifts of BoyerMooreComplete, the larger
+ * of the good suffix and bad character shifts, so the memory only ever removes comparisons: it never compares more
+ * characters than BoyerMooreComplete.
+ *
+ * The results are identical to those of BoyerMooreBCGalil.
+ */
+public class TurboBoyerMoore {
+
+    /**
+     * Searches the text for a pattern, counting comparisons with the comparator.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the pattern, text, or comparator is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static List<Integer> turboBoyerMoore(CharSequence pattern, CharSequence text,
+                                                CharacterComparator comparator) {
+        return turboBoyerMoore(CompiledPattern.compile(pattern), text, comparator);
+    }
+
+    /**
+     * Searches the text for a compiled pattern, counting comparisons with the comparator.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or comparator is null.
+     */
+    public static List<Integer> turboBoyerMoore(CompiledPattern compiled, CharSequence text,
+                                            CharacterComparator comparator) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        turboBoyerMoore(compiled, text, comparator, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a compiled pattern, counting comparisons with the comparator and reporting the starting
+     * index of each match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, comparator, or sink is null.
+     */
+    public static void turboBoyerMoore(CompiledPattern compiled, CharSequence text, CharacterComparator comparator,
+                                   IntConsumer sink) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Your comparator cannot be null. Please try again with a "
+                    + " non-null comparator parameter.");
+        }
+        checkArguments(compiled, text, sink);
+        turboBoyerMoore(compiled, text, CharMatcher.counting(comparator), sink);
+    }
+
+    /**
+     * Searches the text for a compiled pattern without counting comparisons.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static List<Integer> turboBoyerMoore(CompiledPattern compiled, CharSequence text) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        turboBoyerMoore(compiled, text, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a compiled pattern without counting comparisons, reporting the starting index of each
+     * match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     */
+    public static void turboBoyerMoore(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        checkArguments(compiled, text, sink);
+        turboBoyerMoore(compiled, text, CharMatcher.EXACT, sink);
+    }
+
+    /**
+     * Checks the arguments shared by every public overload.
+     *
+     * @param compiled    the compiled pattern.
+     * @param text    the text.
+     * @param sink    the sink receiving matches.
+     * @throws java.lang.IllegalArgumentException   if any argument is null.
+     */
+    private static void checkArguments(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+    }
+
+    /**
+     * The scan loop shared by every overload above. The arguments must already have been checked.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     */
+    static void turboBoyerMoore(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+        char[] pattern = compiled.chars();
+        int n = text.length();
+        int m = compiled.length();
+        PrimitiveLastTable lot = compiled.lastOccurrenceTable();
+
+        // shift[j + 1] is the good suffix shift after a mismatch at j, and shift[0] the shift after a match.
+        int[] shift = compiled.goodSuffixShifts();
+
+        // s is the shift of the pattern with respect to the text.
+        int s = 0;
+
+        // u is the length of the factor remembered from the previous attempt, and next the shift that followed it.
+        int u = 0;
+        int next = m;
+        while (s <= n - m) {
+            int j = m - 1;
+            while (j >= 0 && matcher.eq(pattern[j], text.charAt(s + j))) {
+                j--;
+                // the remembered factor ends at m - 1 - next in this window; it is known to match, so jump over it.
+                if (u != 0 && j == m - 1 - next) {
+                    j -= u;
+                }
+            }
+            if (j < 0) {
+                sink.accept(s);
+                // shift[0] is the period of the pattern, and the border of length m - shift[0] lines up again.
+                next = shift[0];
+                u = m - next;
+            } else {
+                // v is the length of the suffix of the pattern matched in this attempt.
+                int v = m - 1 - j;
+                next = Math.max(shift[j + 1], j - lot.get(text.charAt(s + j)));
+                // after a good suffix shift the matched suffix lines up with an equal factor of the pattern.
+                u = next == shift[j + 1] ? Math.min(m - next, v) : 0;
+            }
+            s += next;
+        }
+    }
+}
@@ -0,0 +1,383 @@
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * An implementation of the Two-Way pattern matching algorithm of Crochemore and Perrin.
+ *
+ * The pattern is split at a critical position ell into a left part p[0, ell] and a right part p[ell + 1, m - 1],
+ * chosen so that the right part is the maximal suffix of the pattern under one of two opposite alphabet orders.
+ * Each attempt first compares the right part from left to right, shifting by the number of characters matched on a
+ * mismatch, and then compares the left part from right to left, shifting by the period of the pattern on a mismatch
+ * or a match. The critical factorization guarantees that none of these shifts skips over a match, and the search
+ * makes at most 2n comparisons.
+ *
+ * Two-Way needs no table at all: the whole preprocessing is two passes over the pattern, and the search keeps only
+ * the critical position, the period and, for periodic patterns, the length of the prefix already known to match
+ * after a shift by the period (the same memory as Galil's rule). The overloads taking the pattern itself therefore
+ * search in O(1) extra space, which makes them suitable for very long patterns. The overloads taking a
+ * CompiledPattern read the critical factorization from it and use its failure table period to decide whether the
+ * pattern is periodic.
+ *
+ * The overloads mirror those of BoyerMooreBCGalil, and the results are identical.
+ */
+public class TwoWay {
+
+    /**
+     * Searches the text for a pattern in O(1) extra space, counting comparisons with the comparator.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the pattern, text, or comparator is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static List<Integer> twoWay(CharSequence pattern, CharSequence text, CharacterComparator comparator) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        twoWay(pattern, text, comparator, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a compiled pattern, counting comparisons with the comparator.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or comparator is null.
+     */
+    public static List<Integer> twoWay(CompiledPattern compiled, CharSequence text, CharacterComparator comparator) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        twoWay(compiled, text, comparator, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a pattern in O(1) extra space, counting comparisons with the comparator and reporting
+     * the starting index of each match to a sink.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the pattern, text, comparator, or sink is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static void twoWay(CharSequence pattern, CharSequence text, CharacterComparator comparator,
+                              IntConsumer sink) {
+        checkPattern(pattern);
+        if (comparator == null) {
+            throw new IllegalArgumentException("Your comparator cannot be null. Please try again with a "
+                    + " non-null comparator parameter.");
+        }
+        checkArguments(text, sink);
+        twoWay(pattern, text, CharMatcher.counting(comparator), sink);
+    }
+
+    /**
+     * Searches the text for a compiled pattern, counting comparisons with the comparator and reporting the starting
+     * index of each match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param comparator    an external class used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, comparator, or sink is null.
+     */
+    public static void twoWay(CompiledPattern compiled, CharSequence text, CharacterComparator comparator,
+                              IntConsumer sink) {
+        checkCompiled(compiled);
+        if (comparator == null) {
+            throw new IllegalArgumentException("Your comparator cannot be null. Please try again with a "
+                    + " non-null comparator parameter.");
+        }
+        checkArguments(text, sink);
+        twoWay(compiled, text, CharMatcher.counting(comparator), sink);
+    }
+
+    /**
+     * Searches the text for a compiled pattern without counting comparisons.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern or text is null.
+     */
+    public static List<Integer> twoWay(CompiledPattern compiled, CharSequence text) {
+        // matches will store the starting indices of each match found
+        List<Integer> matches = new ArrayList<>();
+        twoWay(compiled, text, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a pattern in O(1) extra space without counting comparisons.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @return     a list containing the starting index for each match found.
+     * @throws java.lang.IllegalArgumentException   if the pattern or text is null.
+     * @throws java.lang.IllegalArgumentException   if the pattern has length 0.
+     */
+    public static List<Integer> twoWay(CharSequence pattern, CharSequence text) {
+        checkPattern(pattern);
+        List<Integer> matches = new ArrayList<>();
+        checkArguments(text, matches::add);
+        twoWay(pattern, text, CharMatcher.EXACT, matches::add);
+        return matches;
+    }
+
+    /**
+     * Searches the text for a compiled pattern without counting comparisons, reporting the starting index of each
+     * match to a sink.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param sink    receives the starting index of each match, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     */
+    public static void twoWay(CompiledPattern compiled, CharSequence text, IntConsumer sink) {
+        checkCompiled(compiled);
+        checkArguments(text, sink);
+        twoWay(compiled, text, CharMatcher.EXACT, sink);
+    }
+
+    /**
+     * Searches a range of a char array for a compiled pattern without counting comparisons. The range is treated as
+     * the whole text, so the reported indices are relative to offset.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the array holding the body of text where a user searches for a pattern (the haystack).
+     * @param offset    the index of the first character of the text in the array.
+     * @param length    the number of characters in the text.
+     * @param sink    receives the starting index of each match relative to offset, in ascending order.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern, text, or sink is null.
+     * @throws java.lang.IndexOutOfBoundsException   if the range [offset, offset + length) is not within the array.
+     */
+    public static void twoWay(CompiledPattern compiled, char[] text, int offset, int length, IntConsumer sink) {
+        checkCompiled(compiled);
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+        if (offset < 0 || length < 0 || offset > text.length - length) {
+            throw new IndexOutOfBoundsException("The range [" + offset + ", " + offset + " + " + length + ") is out"
+                    + " of bounds for a text of length " + text.length);
+        }
+        // a wrapped CharBuffer indexes relative to its position, which starts at offset.
+        twoWay(compiled, CharBuffer.wrap(text, offset, length), CharMatcher.EXACT, sink);
+    }
+
+    /**
+     * @param pattern    the pattern passed to a public overload.
+     * @throws java.lang.IllegalArgumentException   if the pattern is null or has length 0.
+     */
+    private static void checkPattern(CharSequence pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("Your pattern cannot be a null value. Please pass in a valid pattern"
+                    + " parameter argument.");
+        }
+        if (pattern.length() == 0) {
+            throw new IllegalArgumentException("Your pattern cannot be of length 0. Please call this method with"
+                    + " a non-zero length pattern");
+        }
+    }
+
+    /**
+     * @param compiled    the compiled pattern passed to a public overload.
+     * @throws java.lang.IllegalArgumentException   if the compiled pattern is null.
+     */
+    private static void checkCompiled(CompiledPattern compiled) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled pattern cannot be a null value. Please pass in a valid"
+                    + " compiled pattern parameter argument.");
+        }
+    }
+
+    /**
+     * @param text    the text passed to a public overload.
+     * @param sink    the sink passed to a public overload.
+     * @throws java.lang.IllegalArgumentException   if the text or sink is null.
+     */
+    private static void checkArguments(CharSequence text, IntConsumer sink) {
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+    }
+
+    /**
+     * Computes the critical factorization of a pattern as the longer of its two maximal suffixes, one for each
+     * alphabet order. Only exact comparisons between characters of the pattern are made.
+     *
+     * @param pattern    a non-empty pattern.
+     * @return    the critical position ell in the high 32 bits and the period of the suffix p[ell + 1, m - 1] in the
+     *            low 32 bits. ell may be -1, in which case the right part is the whole pattern.
+     */
+    static long criticalFactorization(CharSequence pattern) {
+        long forward = maximalSuffix(pattern, false);
+        long reverse = maximalSuffix(pattern, true);
+        return (int) (forward >> 32) > (int) (reverse >> 32) ? forward : reverse;
+    }
+
+    /**
+     * Computes the maximal suffix of a pattern for one alphabet order, along with the period of that suffix.
+     *
+     * @param pattern    a non-empty pattern.
+     * @param reversed    whether to use the reversed alphabet order.
+     * @return    the index before the maximal suffix in the high 32 bits and its period in the low 32 bits.
+     */
+    private static long maximalSuffix(CharSequence pattern, boolean reversed) {
+        int m = pattern.length();
+        // ms is the index before the best suffix found so far, and p its period.
+        int ms = -1;
+        int j = 0;
+        int k = 1;
+        int p = 1;
+        while (j + k < m) {
+            char a = pattern.charAt(j + k);
+            char b = pattern.charAt(ms + k);
+            if (reversed ? a > b : a < b) {
+                // the suffix starting at j + 1 stays smaller; its period grows to cover everything read so far.
+                j += k;
+                k = 1;
+                p = j - ms;
+            } else if (a == b) {
+                // still following the period p.
+                if (k != p) {
+                    k++;
+                } else {
+                    j += p;
+                    k = 1;
+                }
+            } else {
+                // a larger suffix starts at j + 1.
+                ms = j;
+                j = ms + 1;
+                k = 1;
+                p = 1;
+            }
+        }
+        return ((long) ms << 32) | p;
+    }
+
+    /**
+     * Searches with a compiled pattern. The arguments must already have been checked.
+     *
+     * The period per of the right part is at most the period k of the whole pattern, and it is a period of the whole
+     * pattern exactly when per = k. The failure table period held by the compiled pattern therefore decides which of
+     * the two search loops applies without comparing the pattern against itself.
+     *
+     * @param compiled    the compiled pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     */
+    static void twoWay(CompiledPattern compiled, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+        int ell = compiled.criticalPosition();
+        int per = compiled.criticalPeriod();
+        search(compiled.pattern(), ell, per, per == compiled.period(), text, matcher, sink);
+    }
+
+    /**
+     * Searches with an uncompiled pattern in O(1) extra space. The arguments must already have been checked.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     */
+    static void twoWay(CharSequence pattern, CharSequence text, CharMatcher matcher, IntConsumer sink) {
+        long factorization = criticalFactorization(pattern);
+        int ell = (int) (factorization >> 32);
+        int per = (int) factorization;
+
+        // per is a period of the whole pattern if the left part reappears per characters later.
+        boolean periodic = ell + 1 + per <= pattern.length();
+        for (int i = 0; periodic && i <= ell; i++) {
+            periodic = pattern.charAt(i) == pattern.charAt(i + per);
+        }
+        search(pattern, ell, per, periodic, text, matcher, sink);
+    }
+
+    /**
+     * The scan loop shared by every overload above.
+     *
+     * @param pattern    the pattern a user is searching for in a body of text (the needle).
+     * @param ell    the critical position of the pattern.
+     * @param per    the period of the right part of the pattern.
+     * @param periodic    whether per is also the period of the whole pattern.
+     * @param text    the body of text where a user searches for a pattern (the haystack).
+     * @param matcher    used by the algorithm to check if two characters are equal.
+     * @param sink    receives the starting index of each match, in ascending order.
+     */
+    private static void search(CharSequence pattern, int ell, int per, boolean periodic, CharSequence text,
+                               CharMatcher matcher, IntConsumer sink) {
+        int m = pattern.length();
+        int n = text.length();
+
+        // s is the shift of the pattern with respect to the text.
+        int s = 0;
+        if (periodic) {
+            /*
+            After a shift by the period, the prefix p[0, memory] is known to match, exactly as with Galil's rule, so
+            neither half of the next attempt compares it again.
+             */
+            int memory = -1;
+            while (s <= n - m) {
+                int i = Math.max(ell, memory) + 1;
+                while (i < m && matcher.eq(pattern.charAt(i), text.charAt(s + i))) {
+                    i++;
+                }
+                if (i >= m) {
+                    i = ell;
+                    while (i > memory && matcher.eq(pattern.charAt(i), text.charAt(s + i))) {
+                        i--;
+                    }
+                    if (i <= memory) {
+                        sink.accept(s);
+                    }
+                    s += per;
+                    memory = m - per - 1;
+                } else {
+                    s += i - ell;
+                    memory = -1;
+                }
+            }
+        } else {
+            // the two parts cannot overlap themselves, so a shift past the longer of them is safe.
+            int shift = Math.max(ell + 1, m - ell - 1) + 1;
+            while (s <= n - m) {
+                int i = ell + 1;
+                while (i < m && matcher.eq(pattern.charAt(i), text.charAt(s + i))) {
+                    i++;
+                }
+                if (i >= m) {
+                    i = ell;
+                    while (i >= 0 && matcher.eq(pattern.charAt(i), text.charAt(s + i))) {
+                        i--;
+                    }
+                    if (i < 0) {
+                        sink.accept(s);
+                    }
+                    s += shift;
+                } else {
+                    s += i - ell;
+                }
+            }
+        }
+    }
+}
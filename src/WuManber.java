@@ -0,0 +1,117 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Searches a text for every pattern of a CompiledPatternSet in a single pass, using the Wu-Manber algorithm.
+ *
+ * Looping over BoyerMooreBCGalil once per pattern reads the text once per pattern. Wu-Manber instead slides a window
+ * of mMin characters, the length of the shortest pattern, over the text once. The block of B characters at the end of
+ * the window is hashed and looked up in the shift table, which plays the role of the last occurrence table for the
+ * whole set: a positive entry moves the window on. Only when the entry is 0 are the patterns in the block's bucket
+ * checked, first by the hash of their first B characters and then character by character.
+ *
+ * See CompiledPatternSet for how the tables are built.
+ */
+public class WuManber {
+
+    /**
+     * Searches a text for every pattern of a compiled set.
+     *
+     * @param compiled    the compiled set of patterns a user is searching for in a body of text (the needles).
+     * @param text    the body of text where a user searches for the patterns (the haystack).
+     * @return    a list holding, for each pattern id, the starting indices of that pattern's matches in ascending
+     *            order.
+     * @throws java.lang.IllegalArgumentException    if the compiled set or text is null.
+     */
+    public static List<List<Integer>> wuManber(CompiledPatternSet compiled, CharSequence text) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled patterns cannot be a null value. Please pass in a valid"
+                    + " compiled patterns parameter argument.");
+        }
+        List<List<Integer>> matches = new ArrayList<>(compiled.size());
+        for (int id = 0; id < compiled.size(); id++) {
+            matches.add(new ArrayList<>());
+        }
+        wuManber(compiled, text, (patternId, offset) -> matches.get(patternId).add(offset));
+        return matches;
+    }
+
+    /**
+     * Searches a text for every pattern of a compiled set, reporting each match to a sink.
+     *
+     * Matches are reported in ascending order of their starting index, and matches starting at the same index in
+     * ascending order of pattern id.
+     *
+     * @param compiled    the compiled set of patterns a user is searching for in a body of text (the needles).
+     * @param text    the body of text where a user searches for the patterns (the haystack).
+     * @param sink    receives the pattern id and starting index of each match.
+     * @throws java.lang.IllegalArgumentException    if the compiled set, text, or sink is null.
+     */
+    public static void wuManber(CompiledPatternSet compiled, CharSequence text, PatternMatchConsumer sink) {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Your compiled patterns cannot be a null value. Please pass in a valid"
+                    + " compiled patterns parameter argument.");
+        }
+        if (text == null) {
+            throw new IllegalArgumentException("The text parameter cannot be null. Please try again with a "
+                    + " non-null text parameter.");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Your sink cannot be null. Please try again with a "
+                    + " non-null sink parameter.");
+        }
+
+        char[][] patterns = compiled.patterns();
+        int n = text.length();
+        int mMin = compiled.minLength();
+        int b = compiled.blockSize();
+        int mask = compiled.mask();
+        int[] shift = compiled.shiftTable();
+        int[] bucketStart = compiled.bucketStart();
+        int[] bucketIds = compiled.bucketIds();
+        int[] bucketPrefixes = compiled.bucketPrefixes();
+
+        // pos is the index in the text of the last character of the window.
+        int pos = mMin - 1;
+        while (pos < n) {
+            // hash the block of b characters ending at pos, as CompiledPatternSet hashes the pattern blocks.
+            int h = 0;
+            for (int i = pos - b + 1; i <= pos; i++) {
+                h = h * 31 + text.charAt(i);
+            }
+            h = CompiledPatternSet.mix(h) & mask;
+
+            int s = shift[h];
+            if (s > 0) {
+                pos += s;
+                continue;
+            }
+
+            // start is the index in the text of the first character of the window.
+            int start = pos - mMin + 1;
+            int prefix = 0;
+            for (int i = start; i < start + b; i++) {
+                prefix = prefix * 31 + text.charAt(i);
+            }
+            prefix = CompiledPatternSet.mix(prefix);
+
+            for (int slot = bucketStart[h]; slot < bucketStart[h + 1]; slot++) {
+                if (bucketPrefixes[slot] != prefix) {
+                    continue;
+                }
+                char[] pattern = patterns[bucketIds[slot]];
+                if (pattern.length > n - start) {
+                    continue;
+                }
+                int j = 0;
+                while (j < pattern.length && pattern[j] == text.charAt(start + j)) {
+                    j++;
+                }
+                if (j == pattern.length) {
+                    sink.accept(bucketIds[slot], start);
+                }
+            }
+            pos++;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Compares the throughput of the search engines on a small alphabet: a random DNA text of the four bases a, c, g
+ * and t, searched for patterns of 8 to 256 bases taken from the text.
+ *
+ * This is a plain main method rather than a test, since timings are meaningless under a test runner. Run it with
+ * the classes of src on the classpath, optionally passing the length of the text in characters:
+ *
+ * java -cp out SmallAlphabetBenchmark 16000000
+ *
+ * BoyerMooreGoodSuffix and BoyerMooreComplete are the baselines, and every engine searches for the same pattern of
+ * each length. Each engine searches for each pattern a few times to warm up, then the best of several timed runs is
+ * reported in nanoseconds per text character, so lower is better.
+ */
+public class SmallAlphabetBenchmark {
+
+    private static final int WARMUP_RUNS = 5;
+    private static final int TIMED_RUNS = 5;
+
+    /**
+     * A search engine under test.
+     */
+    @FunctionalInterface
+    private interface Engine {
+        void search(CompiledPattern compiled, CharSequence text, IntConsumer sink);
+    }
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 8_000_000;
+        Random random = new Random(1332);
+        char[] bases = {'a', 'c', 'g', 't'};
+        char[] chars = new char[n];
+        for (int i = 0; i < n; i++) {
+            chars[i] = bases[random.nextInt(bases.length)];
+        }
+        String text = new String(chars);
+
+        Map<String, Engine> engines = new LinkedHashMap<>();
+        engines.put("BoyerMooreBCGalil", BoyerMooreBCGalil::boyerMooreBCGalil);
+        engines.put("BoyerMooreGoodSuffix", BoyerMooreGoodSuffix::boyerMoore);
+        engines.put("BoyerMooreComplete", BoyerMooreComplete::boyerMooreGalil);
+        engines.put("BoyerMooreHorspool", BoyerMooreHorspool::boyerMooreHorspool);
+        engines.put("QuickSearch", QuickSearch::quickSearch);
+        engines.put("TurboBoyerMoore", TurboBoyerMoore::turboBoyerMoore);
+        engines.put("ApostolicoGiancarlo", ApostolicoGiancarlo::apostolicoGiancarlo);
+        engines.put("TwoWay", TwoWay::twoWay);
+        engines.put("ShiftOr", ShiftOr::shiftOr);
+        engines.put("BNDM", BNDM::bndm);
+        engines.put("BackwardOracleMatching", BackwardOracleMatching::backwardOracleMatching);
+
+        System.out.printf("%-24s", "ns/char, m =");
+        int[] lengths = {8, 16, 32, 64, 128, 256};
+        // one pattern per length, shared by every engine so that their timings can be compared.
+        CompiledPattern[] patterns = new CompiledPattern[lengths.length];
+        for (int i = 0; i < lengths.length; i++) {
+            int start = random.nextInt(n - lengths[i]);
+            patterns[i] = CompiledPattern.compile(text.substring(start, start + lengths[i]));
+            System.out.printf("%8d", lengths[i]);
+        }
+        System.out.println();
+
+        for (Map.Entry<String, Engine> engine : engines.entrySet()) {
+            System.out.printf("%-24s", engine.getKey());
+            for (CompiledPattern compiled : patterns) {
+                System.out.printf("%8.3f", time(engine.getValue(), compiled, text));
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Times one engine on one pattern.
+     *
+     * @param engine    the engine to time.
+     * @param compiled    the pattern to search for.
+     * @param text    the text to search.
+     * @return    the best time over the timed runs, in nanoseconds per text character.
+     */
+    private static double time(Engine engine, CompiledPattern compiled, String text) {
+        int[] matches = new int[1];
+        IntConsumer sink = offset -> matches[0]++;
+        for (int run = 0; run < WARMUP_RUNS; run++) {
+            engine.search(compiled, text, sink);
+        }
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < TIMED_RUNS; run++) {
+            long start = System.nanoTime();
+            engine.search(compiled, text, sink);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (matches[0] == 0) {
+            throw new AssertionError("The pattern was taken from the text, so it must be found.");
+        }
+        return (double) best / text.length();
+    }
+}
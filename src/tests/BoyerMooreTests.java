@@ -1,10 +1,26 @@
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -30,6 +46,16 @@ public class BoyerMooreTests {
 
     private static final int TIMEOUT = 200;
 
+    // the text of boyerMooreMultiMatch, shared by the tests that check an engine against BoyerMooreBCGalil.
+    private static final String ANIMAL_TEXT = "mooowoofmeowmoooomeowmooomeowribbetribbetmoooribbetmooo";
+
+    /*
+    the patterns searched for in ANIMAL_TEXT: a single character, matches at both ends of the text, overlapping
+    matches, a pattern that is absent and the whole text.
+     */
+    private static final String[] ANIMAL_PATTERNS = {"m", "o", "oo", "mooo", "meow", "woofmeow", "ribbet", "quack",
+        ANIMAL_TEXT};
+
     private String kmpPattern;
     private int[] expFailureTable;
     private String sellPattern;
@@ -1027,4 +1053,664 @@ public class BoyerMooreTests {
         assertEquals(15, numComparisons);
     }
 
+    /* ------------------------------ Compiled Pattern ---------------------------- */
+
+    @Test(timeout = TIMEOUT)
+    public void compiledPatternReusedAcrossTexts() {
+        CompiledPattern compiled = CompiledPattern.compile("abab");
+        assertEquals(2, compiled.period());
+        assertEquals(4, compiled.length());
+
+        text = "ababababababcababab";
+        expMatches.add(0);
+        expMatches.add(2);
+        expMatches.add(4);
+        expMatches.add(6);
+        expMatches.add(8);
+        expMatches.add(13);
+        expMatches.add(15);
+        assertEquals(expMatches, BoyerMooreBCGalil.boyerMooreBCGalil(compiled, text, comparator));
+        assertEquals(expMatches, BoyerMooreGoodSuffix.boyerMoore(compiled, text, comparator));
+        assertEquals(expMatches, BoyerMooreComplete.boyerMooreGalil(compiled, text, comparator));
+
+        assertEquals(emptyList, BoyerMooreBCGalil.boyerMooreBCGalil(compiled, sellText, comparator));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void compiledPatternSnapshotsMutablePattern() {
+        StringBuilder builder = new StringBuilder("sell");
+        CompiledPattern compiled = CompiledPattern.compile(builder);
+        builder.setLength(0);
+        builder.append("shore");
+        assertEquals(sellAnswer, BoyerMooreBCGalil.boyerMooreBCGalil(compiled, sellText, comparator));
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void compiledPatternEmpty() {
+        CompiledPattern.compile("");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void primitiveLastTableMatchesMap() {
+        String latin = "She sells seashells by the seashore.\u00e9\u00ff";
+        String bmp = "";
+        for (int i = 8208; i < 10176; i++) {
+            bmp += (char) i;
+        }
+        bmp += "abc\u2603abc";
+
+        for (String p : new String[] {latin, bmp, "aaaaaaaa"}) {
+            Map<Character, Integer> map = LastOccurrenceTable.buildLastTable(p);
+            PrimitiveLastTable table = PrimitiveLastTable.build(p);
+            for (char c = 0; c < 12000; c++) {
+                assertEquals(map.getOrDefault(c, -1).intValue(), table.get(c));
+            }
+            assertEquals(-1, table.get('\uffff'));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void matchBufferReusedAcrossSearches() {
+        MatchBuffer buffer = new MatchBuffer(1);
+        CompiledPattern compiled = CompiledPattern.compile("moo");
+        text = "mooomooomooomoomooomoomoomooomooo";
+
+        BoyerMooreBCGalil.boyerMooreBCGalil(compiled, text, comparator, buffer);
+        assertArrayEquals(new int[] {0, 4, 8, 12, 15, 19, 22, 25, 29}, buffer.toArray());
+
+        buffer.clear();
+        BoyerMooreComplete.boyerMooreGalil(compiled, text, comparator, buffer);
+        assertEquals(9, buffer.size());
+        assertEquals(29, buffer.get(8));
+
+        buffer.clear();
+        BoyerMooreGoodSuffix.boyerMoore("sell", sellText, comparator, buffer);
+        assertArrayEquals(new int[] {4}, buffer.toArray());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void uninstrumentedSearchMatchesCountedSearch() {
+        pattern = "mooo";
+        text = ANIMAL_TEXT;
+        List<Integer> counted = BoyerMooreBCGalil.boyerMooreBCGalil(pattern, text, comparator);
+        assertEquals(counted, BoyerMooreBCGalil.boyerMooreBCGalil(pattern, text));
+        assertEquals(counted, BoyerMooreGoodSuffix.boyerMoore(pattern, text));
+        assertEquals(counted, BoyerMooreComplete.boyerMooreGalil(pattern, text));
+
+        MatchBuffer buffer = new MatchBuffer();
+        BoyerMooreBCGalil.boyerMooreBCGalil(CompiledPattern.compile(pattern), text, buffer);
+        assertEquals(counted.size(), buffer.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void charArrayAndCharBufferTexts() {
+        CompiledPattern compiled = CompiledPattern.compile("abab");
+        char[] chars = "xxababababababcabababyy".toCharArray();
+        int[] expected = {0, 2, 4, 6, 8, 13, 15};
+
+        MatchBuffer buffer = new MatchBuffer();
+        BoyerMooreBCGalil.boyerMooreBCGalil(compiled, chars, 2, chars.length - 4, buffer);
+        assertArrayEquals(expected, buffer.toArray());
+
+        buffer.clear();
+        BoyerMooreGoodSuffix.boyerMoore(compiled, chars, 2, chars.length - 4, buffer);
+        assertArrayEquals(expected, buffer.toArray());
+
+        buffer.clear();
+        BoyerMooreComplete.boyerMooreGalil(compiled, java.nio.CharBuffer.wrap(chars, 2, chars.length - 4), buffer);
+        assertArrayEquals(expected, buffer.toArray());
+
+        buffer.clear();
+        BoyerMooreBCGalil.boyerMooreBCGalil(compiled, new StringBuilder("ababababababcababab"), buffer);
+        assertArrayEquals(expected, buffer.toArray());
+    }
+
+    @Test(timeout = TIMEOUT, expected = IndexOutOfBoundsException.class)
+    public void charArrayRangeOutOfBounds() {
+        BoyerMooreBCGalil.boyerMooreBCGalil(CompiledPattern.compile("ab"), new char[4], 2, 3, new MatchBuffer());
+    }
+
+    /* ------------------------------ Byte Patterns ---------------------------- */
+
+    @Test(timeout = TIMEOUT)
+    public void byteTablesMatchCharTables() {
+        byte[] bytes = "abbccabbcabbabbaccabbababbcababbaabaaabb".getBytes(StandardCharsets.US_ASCII);
+        assertArrayEquals(FailureTable.buildFailureTable("abbccabbcabbabbaccabbababbcababbaabaaabb", comparator),
+                FailureTable.buildFailureTable(bytes));
+
+        int[] lot = LastOccurrenceTable.buildByteTable("sell".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(0, lot['s']);
+        assertEquals(1, lot['e']);
+        assertEquals(3, lot['l']);
+        assertEquals(-1, lot['x']);
+        assertEquals(256, lot.length);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void byteSearchHeapAndDirectBuffers() {
+        byte[] p = "mooo".getBytes(StandardCharsets.US_ASCII);
+        byte[] t = ANIMAL_TEXT.getBytes(StandardCharsets.US_ASCII);
+        expMatches.add(0);
+        expMatches.add(12);
+        expMatches.add(21);
+        expMatches.add(41);
+        expMatches.add(51);
+        assertEquals(expMatches, ByteBoyerMooreBCGalil.boyerMooreBCGalil(p, t));
+        assertEquals(expMatches, ByteBoyerMooreGoodSuffix.boyerMoore(p, t));
+        assertEquals(expMatches, ByteBoyerMooreComplete.boyerMooreGalil(p, t));
+
+        CompiledBytePattern compiled = CompiledBytePattern.compile(p);
+        ByteBuffer direct = ByteBuffer.allocateDirect(t.length + 3);
+        direct.put(new byte[3]).put(t).position(3);
+        MatchBuffer buffer = new MatchBuffer();
+        ByteBoyerMooreBCGalil.boyerMooreBCGalil(compiled, direct, buffer);
+        assertArrayEquals(new int[] {0, 12, 21, 41, 51}, buffer.toArray());
+        assertEquals(3, direct.position());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void mappedFileMatchesStraddleWindows() throws IOException {
+        byte[] t = ANIMAL_TEXT.getBytes(StandardCharsets.US_ASCII);
+        Path file = Files.createTempFile("BoyerMooreTests", ".log");
+        try {
+            Files.write(file, t);
+            CompiledBytePattern compiled = CompiledBytePattern.compile("mooo".getBytes(StandardCharsets.US_ASCII));
+            List<Long> expected = new ArrayList<>();
+            expected.add(0L);
+            expected.add(12L);
+            expected.add(21L);
+            expected.add(41L);
+            expected.add(51L);
+            assertEquals(expected, MappedFileSearch.search(compiled, file));
+
+            // windows of 5 bytes force almost every match to straddle a window boundary.
+            List<Long> windowed = new ArrayList<>();
+            MappedFileSearch.search(compiled, file, 5, windowed::add);
+            assertEquals(expected, windowed);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void streamingMatchesStraddleRefills() throws IOException {
+        String text = "abababbabababababab";
+        List<Long> expected = new ArrayList<>();
+        for (long offset : new long[] {0, 2, 7, 9, 11, 13, 15}) {
+            expected.add(offset);
+        }
+
+        // a buffer of 4 characters holds one match at a time, so most matches straddle a refill.
+        List<Long> chars = new ArrayList<>();
+        StreamingSearch.search(CompiledPattern.compile("abab"), new StringReader(text), 4, chars::add);
+        assertEquals(expected, chars);
+
+        List<Long> bytes = new ArrayList<>();
+        StreamingSearch.search(CompiledBytePattern.compile("abab".getBytes(StandardCharsets.US_ASCII)),
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)), 4, bytes::add);
+        assertEquals(expected, bytes);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void parallelSearchMatchesSequentialSearch() {
+        // long enough to be split into several chunks, with matches straddling the chunk boundaries.
+        StringBuilder builder = new StringBuilder();
+        while (builder.length() < 8 * ParallelSearch.MIN_CHUNK_SIZE) {
+            builder.append("mooowoofmeowmooo");
+        }
+        String text = builder.toString();
+        CompiledPattern compiled = CompiledPattern.compile("meowmooomooowoof");
+
+        List<Integer> parallel = new ArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelSearch.search(compiled, text, pool, parallel::add);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(BoyerMooreBCGalil.boyerMooreBCGalil(compiled, text), parallel);
+        assertEquals(text.length() / 16 - 1, parallel.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void wuManberFindsEveryPatternInOnePass() {
+        CompiledPatternSet compiled = CompiledPatternSet.compile("mooo", "meow", "ribbet", "oo", "quack");
+
+        List<List<Integer>> matches = WuManber.wuManber(compiled, ANIMAL_TEXT);
+        assertEquals(5, matches.size());
+        for (int id = 0; id < compiled.size(); id++) {
+            assertEquals(BoyerMooreBCGalil.boyerMooreBCGalil(compiled.pattern(id), ANIMAL_TEXT), matches.get(id));
+        }
+
+        // matches are reported in ascending order of offset, then of pattern id.
+        List<Integer> ids = new ArrayList<>();
+        List<Integer> offsets = new ArrayList<>();
+        WuManber.wuManber(compiled, "xmoooribbet", (patternId, offset) -> {
+            ids.add(patternId);
+            offsets.add(offset);
+        });
+        List<Integer> expectedIds = new ArrayList<>();
+        expectedIds.add(0);
+        expectedIds.add(3);
+        expectedIds.add(3);
+        expectedIds.add(2);
+        List<Integer> expectedOffsets = new ArrayList<>();
+        expectedOffsets.add(1);
+        expectedOffsets.add(2);
+        expectedOffsets.add(3);
+        expectedOffsets.add(5);
+        assertEquals(expectedIds, ids);
+        assertEquals(expectedOffsets, offsets);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void horspoolAndQuickSearchMatchBCGalil() {
+        assertMatchesBCGalil("BoyerMooreHorspool",
+                pattern -> BoyerMooreHorspool.boyerMooreHorspool(pattern, ANIMAL_TEXT, new CharacterComparator()));
+        assertMatchesBCGalil("QuickSearch",
+                pattern -> QuickSearch.quickSearch(pattern, ANIMAL_TEXT, new CharacterComparator()));
+
+        // a periodic pattern keeps Galil's rule: each match after the first compares only the last k = 2 elements.
+        CharacterComparator comparator = new CharacterComparator();
+        assertEquals(4, QuickSearch.quickSearch("abab", "ababababab", comparator).size());
+        assertEquals(4 + 3 * 2, comparator.getComparisonCount());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void turboBoyerMooreNeverComparesMoreThanComplete() {
+        String[][] cases = {
+            {"mooo", ANIMAL_TEXT},
+            {"abab", "abababababababab"},
+            {"aaaa", "aaaaaaaaaaaaaaaa"},
+            {"abcabcab", "abcabcabcabcabdabcabcabcab"},
+            {"bcabc", "bcabcbcabdbcabcabc"}
+        };
+        for (String[] c : cases) {
+            CharacterComparator turbo = new CharacterComparator();
+            CharacterComparator complete = new CharacterComparator();
+            assertEquals(BoyerMooreComplete.boyerMooreGalil(c[0], c[1], complete),
+                    TurboBoyerMoore.turboBoyerMoore(c[0], c[1], turbo));
+            assertTrue("Comparison count was " + turbo.getComparisonCount(),
+                    turbo.getComparisonCount() <= complete.getComparisonCount());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void apostolicoGiancarloIsLinearOnNearMatches() {
+        // every attempt nearly matches, which makes the search without a skip memory quadratic.
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            builder.append("aaaaaaaaab");
+        }
+        String text = builder.toString();
+        String pattern = "aaaaaaaaaaaaaab";
+
+        CharacterComparator complete = new CharacterComparator();
+        CharacterComparator ag = new CharacterComparator();
+        assertEquals(BoyerMooreComplete.boyerMooreGalil(pattern, text, complete),
+                ApostolicoGiancarlo.apostolicoGiancarlo(pattern, text, ag));
+        assertTrue("Comparison count was " + ag.getComparisonCount(),
+                ag.getComparisonCount() <= 3 * text.length() / 2);
+        assertTrue(ag.getComparisonCount() <= complete.getComparisonCount());
+
+        builder.setLength(0);
+        for (int i = 0; i < 100; i++) {
+            builder.append("abababababababab");
+        }
+        text = builder.toString();
+        ag = new CharacterComparator();
+        assertEquals(BoyerMooreBCGalil.boyerMooreBCGalil("abababab", text),
+                ApostolicoGiancarlo.apostolicoGiancarlo("abababab", text, ag));
+        assertTrue("Comparison count was " + ag.getComparisonCount(),
+                ag.getComparisonCount() <= 3 * text.length() / 2);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void twoWayMatchesBCGalil() {
+        assertMatchesBCGalil("TwoWay", pattern -> TwoWay.twoWay(pattern, ANIMAL_TEXT));
+        assertMatchesBCGalil("compiled TwoWay",
+                pattern -> TwoWay.twoWay(CompiledPattern.compile(pattern), ANIMAL_TEXT));
+
+        // a periodic pattern on a periodic text stays within 2n comparisons.
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            builder.append("aab");
+        }
+        String periodic = builder.toString();
+        CharacterComparator comparator = new CharacterComparator();
+        assertEquals(BoyerMooreBCGalil.boyerMooreBCGalil("aabaabaab", periodic),
+                TwoWay.twoWay("aabaabaab", periodic, comparator));
+        assertTrue("Comparison count was " + comparator.getComparisonCount(),
+                comparator.getComparisonCount() <= 2 * periodic.length());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void bitParallelEnginesMatchBCGalil() {
+        assertMatchesBCGalil("ShiftOr", pattern -> ShiftOr.shiftOr(pattern, ANIMAL_TEXT));
+        assertMatchesBCGalil("BNDM", pattern -> BNDM.bndm(pattern, ANIMAL_TEXT));
+
+        // 64 characters is the longest pattern held in one long; 65 falls back to BoyerMooreBCGalil.
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            builder.append("acgt");
+        }
+        String dna = builder.toString();
+        for (int m : new int[] {63, 64, 65}) {
+            String pattern = dna.substring(4, 4 + m);
+            List<Integer> expected = BoyerMooreBCGalil.boyerMooreBCGalil(pattern, dna);
+            assertEquals(expected, ShiftOr.shiftOr(pattern, dna));
+            assertEquals(expected, BNDM.bndm(pattern, dna));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void backwardOracleMatchingMatchesBCGalil() {
+        assertMatchesBCGalil("BackwardOracleMatching",
+                pattern -> BackwardOracleMatching.backwardOracleMatching(pattern, ANIMAL_TEXT));
+
+        // a small alphabet, with patterns both shorter and longer than 64 characters.
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            builder.append("acgtacgatcga");
+        }
+        String dna = builder.toString();
+        for (int m : new int[] {5, 24, 100}) {
+            String pattern = dna.substring(7, 7 + m);
+            assertEquals(BoyerMooreBCGalil.boyerMooreBCGalil(pattern, dna),
+                    BackwardOracleMatching.backwardOracleMatching(pattern, dna));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void adaptiveSearchPicksAnEnginePerPattern() {
+        assertEquals(SearchEngine.SINGLE_CHARACTER, AdaptiveSearch.select(CompiledPattern.compile("m")));
+        assertEquals(SearchEngine.BOYER_MOORE_COMPLETE, AdaptiveSearch.select(CompiledPattern.compile("abcabcab")));
+        assertEquals(SearchEngine.SHIFT_OR, AdaptiveSearch.select(CompiledPattern.compile("acgtaacg")));
+        assertEquals(SearchEngine.BACKWARD_NONDETERMINISTIC_DAWG_MATCHING,
+                AdaptiveSearch.select(CompiledPattern.compile("acgtaacgttgcatgcaaatgc")));
+        assertEquals(SearchEngine.HORSPOOL, AdaptiveSearch.select(CompiledPattern.compile("the quick brown fox")));
+
+        assertMatchesBCGalil("AdaptiveSearch", pattern -> AdaptiveSearch.search(pattern, ANIMAL_TEXT));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void introSearchFallsBackToKnuthMorrisPratt() {
+        assertMatchesBCGalil("IntroSearch",
+                pattern -> IntroSearch.introSearch(CompiledPattern.compile(pattern), ANIMAL_TEXT));
+
+        // b a^99 in a^10000 makes the bad character rule compare 99 characters per shift of 1.
+        StringBuilder builder = new StringBuilder("b");
+        for (int i = 1; i < 100; i++) {
+            builder.append('a');
+        }
+        CompiledPattern compiled = CompiledPattern.compile(builder.toString());
+        builder.setLength(0);
+        for (int i = 0; i < 10000; i++) {
+            builder.append('a');
+        }
+        builder.append(compiled.pattern()).append("aaaa").append(compiled.pattern());
+        String adversarial = builder.toString();
+
+        List<Integer> matches = new ArrayList<>();
+        assertTrue(IntroSearch.introSearch(compiled, adversarial, CharMatcher.EXACT, matches::add));
+        assertEquals(BoyerMooreBCGalil.boyerMooreBCGalil(compiled, adversarial), matches);
+        comparator = new CharacterComparator();
+        IntroSearch.introSearch(compiled, adversarial, comparator);
+        assertTrue("Comparison count was " + comparator.getComparisonCount() + ". Should not be more than "
+                + 5 * adversarial.length() + ".", comparator.getComparisonCount() <= 5 * adversarial.length());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void countAndContainsAgreeWithTheMatchList() {
+        for (String pattern : ANIMAL_PATTERNS) {
+            int expected = BoyerMooreBCGalil.boyerMooreBCGalil(pattern, ANIMAL_TEXT).size();
+            assertEquals(expected, BoyerMooreBCGalil.count(pattern, ANIMAL_TEXT));
+            assertEquals(expected, BoyerMooreGoodSuffix.count(pattern, ANIMAL_TEXT));
+            assertEquals(expected, BoyerMooreComplete.count(pattern, ANIMAL_TEXT));
+            assertEquals(expected > 0, BoyerMooreBCGalil.contains(pattern, ANIMAL_TEXT));
+            assertEquals(expected > 0, BoyerMooreGoodSuffix.contains(pattern, ANIMAL_TEXT));
+            assertEquals(expected > 0, BoyerMooreComplete.contains(pattern, ANIMAL_TEXT));
+        }
+
+        // contains must stop at the first match and never read past it.
+        StringBuilder builder = new StringBuilder("meow");
+        for (int i = 0; i < 1000; i++) {
+            builder.append("moo");
+        }
+        final String haystack = builder.toString();
+        CharSequence guarded = new CharSequence() {
+            @Override
+            public int length() {
+                return haystack.length();
+            }
+
+            @Override
+            public char charAt(int index) {
+                assertTrue("Read index " + index + " after the first match.", index < 4);
+                return haystack.charAt(index);
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                return haystack.subSequence(start, end);
+            }
+        };
+        assertTrue(BoyerMooreBCGalil.contains("meow", guarded));
+        assertTrue(BoyerMooreGoodSuffix.contains("meow", guarded));
+        assertTrue(BoyerMooreComplete.contains("meow", guarded));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void findAllPagesResumeWhereThePreviousPageStopped() {
+        for (String pattern : ANIMAL_PATTERNS) {
+            CompiledPattern compiled = CompiledPattern.compile(pattern);
+            assertEquals(ANIMAL_TEXT.indexOf(pattern), BoyerMooreBCGalil.findFirst(compiled, ANIMAL_TEXT));
+            assertEquals(ANIMAL_TEXT.indexOf(pattern), BoyerMooreComplete.findFirst(compiled, ANIMAL_TEXT));
+        }
+        assertMatchesBCGalil("findAll", pattern -> {
+            CompiledPattern compiled = CompiledPattern.compile(pattern);
+            List<Integer> paged = new ArrayList<>();
+            SearchPage page = BoyerMooreBCGalil.findAll(compiled, ANIMAL_TEXT, 2);
+            paged.addAll(page.matches());
+            while (!page.isLast()) {
+                assertEquals(2, page.matches().size());
+                page = BoyerMooreBCGalil.findAll(compiled, ANIMAL_TEXT, page.continuation(), 2);
+                paged.addAll(page.matches());
+            }
+            return paged;
+        });
+
+        // a page that stops in the middle of a periodic run resumes with Galil's l instead of rescanning.
+        String run = "aaaaaaaaaa";
+        CompiledPattern compiled = CompiledPattern.compile("aaa");
+        SearchPage first = BoyerMooreComplete.findAll(compiled, run, 3);
+        assertEquals(Arrays.asList(0, 1, 2), first.matches());
+        assertEquals(3, first.continuation().shift());
+        assertEquals(Arrays.asList(3, 4, 5, 6, 7),
+                BoyerMooreComplete.findAll(compiled, run, first.continuation(), 10).matches());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void lazyViewsMatchTheMatchList() {
+        assertMatchesBCGalil("iterator", pattern -> {
+            CompiledPattern compiled = CompiledPattern.compile(pattern);
+            List<Integer> iterated = new ArrayList<>();
+            PrimitiveIterator.OfInt iterator = BoyerMooreBCGalil.iterator(compiled, ANIMAL_TEXT);
+            while (iterator.hasNext()) {
+                iterated.add(iterator.nextInt());
+            }
+            return iterated;
+        });
+        assertMatchesBCGalil("stream", pattern -> BoyerMooreBCGalil.stream(CompiledPattern.compile(pattern),
+                ANIMAL_TEXT).boxed().collect(Collectors.toList()));
+
+        // a text long enough to be split, with matches on both sides of every split.
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            builder.append("moo meow ");
+        }
+        String chorus = builder.toString();
+        CompiledPattern compiled = CompiledPattern.compile("meow moo");
+        Spliterator.OfInt spliterator = BoyerMooreBCGalil.spliterator(compiled, chorus);
+        Spliterator.OfInt prefix = spliterator.trySplit();
+        assertTrue(prefix != null);
+        List<Integer> split = new ArrayList<>();
+        prefix.forEachRemaining((IntConsumer) split::add);
+        spliterator.forEachRemaining((IntConsumer) split::add);
+        List<Integer> expected = BoyerMooreBCGalil.boyerMooreBCGalil(compiled, chorus);
+        assertEquals(expected, split);
+        assertEquals(expected, BoyerMooreBCGalil.stream(compiled, chorus).parallel().boxed()
+                .collect(Collectors.toList()));
+        assertEquals(expected.subList(0, 3), BoyerMooreBCGalil.stream(compiled, chorus).limit(3).boxed()
+                .collect(Collectors.toList()));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void longSearchMatchesAcrossSegments() {
+        char[][] chars = new char[(ANIMAL_TEXT.length() + 7) / 8][];
+        byte[][] bytes = new byte[chars.length][];
+        for (int i = 0; i < chars.length; i++) {
+            String segment = ANIMAL_TEXT.substring(8 * i, Math.min(ANIMAL_TEXT.length(), 8 * i + 8));
+            chars[i] = segment.toCharArray();
+            bytes[i] = segment.getBytes(StandardCharsets.US_ASCII);
+        }
+        byte[] whole = ANIMAL_TEXT.getBytes(StandardCharsets.US_ASCII);
+
+        assertMatchesBCGalil("char segments",
+                pattern -> ints(LongSearch.search(CompiledPattern.compile(pattern), LongCharSource.of(chars))));
+        assertMatchesBCGalil("CharSequence",
+                pattern -> ints(LongSearch.search(CompiledPattern.compile(pattern), LongCharSource.of(ANIMAL_TEXT))));
+        assertMatchesBCGalil("byte segments", pattern -> ints(LongSearch.search(
+                CompiledBytePattern.compile(pattern.getBytes(StandardCharsets.US_ASCII)), LongByteSource.of(bytes))));
+        assertMatchesBCGalil("byte array", pattern -> ints(LongSearch.search(
+                CompiledBytePattern.compile(pattern.getBytes(StandardCharsets.US_ASCII)), LongByteSource.of(whole))));
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void longSourceSegmentsMustShareAPowerOfTwoLength() {
+        LongCharSource.of(new char[6], new char[6]);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IndexOutOfBoundsException.class)
+    public void longCharSourceRejectsIndicesPastItsEnd() {
+        // 2^34 + 4 would wrap around to the second segment if the segment number were cast to an int unchecked.
+        LongCharSource.of("abcd".toCharArray(), "efgh".toCharArray(), "i".toCharArray()).charAt(17179869188L);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IndexOutOfBoundsException.class)
+    public void longByteSourceRejectsIndicesPastItsEnd() {
+        LongByteSource.of("abcd".getBytes(StandardCharsets.US_ASCII), "efgh".getBytes(StandardCharsets.US_ASCII),
+                "i".getBytes(StandardCharsets.US_ASCII)).byteAt(17179869188L);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void segmentedSearchFindsMatchesSpanningSegments() {
+        // segments of every length from 0 to 4, so that some matches span three or more of them.
+        List<CharSequence> segments = new ArrayList<>();
+        for (int start = 0, length = 0; start < ANIMAL_TEXT.length(); start += length, length = (length + 1) % 5) {
+            String segment = ANIMAL_TEXT.substring(start, Math.min(ANIMAL_TEXT.length(), start + length));
+            segments.add(start % 2 == 0 ? segment : new StringBuilder(segment));
+        }
+        assertMatchesBCGalil("SegmentedSearch",
+                pattern -> ints(SegmentedSearch.search(CompiledPattern.compile(pattern), segments)));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void segmentedSearchWalksALinkedListOnce() {
+        // with a get per segment, 40000 segments of a LinkedList take seconds rather than milliseconds.
+        List<CharSequence> segments = new LinkedList<>();
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 40000; i++) {
+            segments.add("moo meow ");
+            builder.append("moo meow ");
+        }
+        CompiledPattern compiled = CompiledPattern.compile("meow moo");
+        assertEquals(BoyerMooreBCGalil.boyerMooreBCGalil(compiled, builder),
+                ints(SegmentedSearch.search(compiled, segments)));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void regionSearchReportsAbsoluteOffsets() {
+        String text = ANIMAL_TEXT;
+        StringBuilder builder = new StringBuilder(text);
+        CompiledPattern compiled = CompiledPattern.compile("mooo");
+
+        // [8, 24) cuts the match at 21 in half, so only the match at 12 lies within it.
+        List<Integer> expected = Arrays.asList(12);
+        assertEquals(expected, BoyerMooreBCGalil.boyerMooreBCGalil(compiled, builder, 8, 24));
+        assertEquals(expected, BoyerMooreGoodSuffix.boyerMoore(compiled, builder, 8, 24));
+        assertEquals(expected, BoyerMooreComplete.boyerMooreGalil(compiled, builder, 8, 24));
+
+        List<Integer> batch = new ArrayList<>();
+        BoyerMooreBCGalil.boyerMooreBCGalil(compiled, text, new int[] {8, 30, 40, text.length(), 0, 3}, batch::add);
+        assertEquals(Arrays.asList(12, 21, 41, 51), batch);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IndexOutOfBoundsException.class)
+    public void regionSearchRejectsRegionsOutsideTheText() {
+        BoyerMooreBCGalil.boyerMooreBCGalil(CompiledPattern.compile("moo"), "moo", 1, 4);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void reverseSearchFindsMatchesFromTheEnd() {
+        assertMatchesBCGalil("ReverseSearch", pattern -> {
+            List<Integer> matches = new ArrayList<>(ReverseSearch.reverseSearch(CompiledPattern.compile(pattern),
+                    ANIMAL_TEXT));
+            Collections.reverse(matches);
+            return matches;
+        });
+        for (String pattern : ANIMAL_PATTERNS) {
+            CompiledPattern compiled = CompiledPattern.compile(pattern);
+            assertEquals(ANIMAL_TEXT.lastIndexOf(pattern), ReverseSearch.lastIndexOf(compiled, ANIMAL_TEXT));
+            assertEquals(ANIMAL_TEXT.lastIndexOf(pattern, 40), ReverseSearch.lastIndexOf(compiled, ANIMAL_TEXT, 40));
+        }
+
+        // Galil's rule in mirrored form keeps a periodic pattern linear.
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            builder.append("ab");
+        }
+        comparator = new CharacterComparator();
+        assertEquals(997, ReverseSearch.reverseSearch("abababab", builder, comparator).size());
+        assertTrue("Comparison count was " + comparator.getComparisonCount() + ". Should not be more than "
+                + builder.length() + ".", comparator.getComparisonCount() <= builder.length());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void everySearchEngineReturnsTheSameMatches() {
+        for (SearchEngine engine : SearchEngine.values()) {
+            assertMatchesBCGalil(engine.name(), pattern -> {
+                List<Integer> matches = new ArrayList<>();
+                engine.search(CompiledPattern.compile(pattern), ANIMAL_TEXT, matches::add);
+                return matches;
+            });
+        }
+    }
+
+    /**
+     * Checks that a search finds the same matches as BoyerMooreBCGalil for each of ANIMAL_PATTERNS in ANIMAL_TEXT.
+     *
+     * @param engine    the name of the search, reported when the matches differ.
+     * @param search    searches ANIMAL_TEXT for a pattern and returns the starting indices of the matches.
+     */
+    private static void assertMatchesBCGalil(String engine, Function<String, List<Integer>> search) {
+        for (String pattern : ANIMAL_PATTERNS) {
+            assertEquals(engine + " searching for " + pattern,
+                    BoyerMooreBCGalil.boyerMooreBCGalil(pattern, ANIMAL_TEXT), search.apply(pattern));
+        }
+    }
+
+    /**
+     * Narrows the long offsets reported by the long and segmented searches, for comparison with BoyerMooreBCGalil.
+     *
+     * @param offsets    the offsets of the matches, each less than Integer.MAX_VALUE.
+     * @return    the same offsets as ints.
+     */
+    private static List<Integer> ints(List<Long> offsets) {
+        List<Integer> matches = new ArrayList<>();
+        for (long offset : offsets) {
+            matches.add(Math.toIntExact(offset));
+        }
+        return matches;
+    }
 }